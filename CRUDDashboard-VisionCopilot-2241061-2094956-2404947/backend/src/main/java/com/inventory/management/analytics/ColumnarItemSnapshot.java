@@ -0,0 +1,277 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.CategoryStatsDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.PriceBandStatsDTO;
+import com.inventory.management.dto.ValuationDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented copy of one manager's items for valuation queries. Prices and quantities are
+ * kept in primitive arrays and categories are dictionary-encoded to int codes, so a scan touches
+ * only the columns it needs and never materializes item objects.
+ *
+ * <p>Rows are dense: removing an item moves the last row into its slot. Scans run under the read
+ * lock and split into chunks on the common fork-join pool once the table is large enough; each
+ * chunk accumulates into its own primitive arrays, which are merged at the end.
+ */
+public class ColumnarItemSnapshot {
+
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    static final int MAX_PRICE_BANDS = 1024;
+
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int ANY_CATEGORY = -1;
+
+    private enum Grouping { NONE, CATEGORY, PRICE_BAND }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] categoryCodes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> categoryDictionary = new HashMap<>();
+
+    /**
+     * Replaces the contents with the rows returned by {@code source}. The source is invoked while
+     * the write lock is held, so readers and incremental updates wait until the load completes.
+     */
+    public void load(Supplier<? extends Collection<InventoryItemDTO>> source) {
+        lock.writeLock().lock();
+        try {
+            Collection<InventoryItemDTO> items = source.get();
+            size = 0;
+            rowById.clear();
+            categoryNames.clear();
+            categoryDictionary.clear();
+            ensureCapacity(items.size());
+            for (InventoryItemDTO item : items) {
+                upsertRow(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(InventoryItemDTO item) {
+        lock.writeLock().lock();
+        try {
+            upsertRow(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                prices[row] = prices[last];
+                quantities[row] = quantities[last];
+                categoryCodes[row] = categoryCodes[last];
+                rowById.put(ids[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ValuationDTO total(ValuationFilter filter) {
+        lock.readLock().lock();
+        try {
+            Partial totals = scan(filter, Grouping.NONE, 0, 1);
+            return new ValuationDTO(totals.counts[0], totals.units[0], totals.values[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Totals per category, ordered by category name. Categories without matching rows are omitted.
+     */
+    public List<CategoryStatsDTO> totalsByCategory(ValuationFilter filter) {
+        lock.readLock().lock();
+        try {
+            Partial totals = scan(filter, Grouping.CATEGORY, 0, categoryNames.size());
+            List<CategoryStatsDTO> result = new ArrayList<>();
+            for (int code = 0; code < categoryNames.size(); code++) {
+                if (totals.counts[code] > 0) {
+                    result.add(new CategoryStatsDTO(categoryNames.get(code), totals.counts[code],
+                            totals.units[code], totals.values[code]));
+                }
+            }
+            result.sort((a, b) -> a.getCategory().compareTo(b.getCategory()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Totals per price band of width {@code bandWidth}, starting at zero. Bands without matching
+     * rows are omitted; prices beyond {@link #MAX_PRICE_BANDS} bands fall into an open-ended last band.
+     */
+    public List<PriceBandStatsDTO> totalsByPriceBand(ValuationFilter filter, double bandWidth) {
+        if (!(bandWidth > 0)) {
+            throw new IllegalArgumentException("Band width must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            Partial totals = scan(filter, Grouping.PRICE_BAND, bandWidth, MAX_PRICE_BANDS);
+            List<PriceBandStatsDTO> result = new ArrayList<>();
+            for (int band = 0; band < MAX_PRICE_BANDS; band++) {
+                if (totals.counts[band] > 0) {
+                    Double upperBound = band == MAX_PRICE_BANDS - 1 ? null : (band + 1) * bandWidth;
+                    result.add(new PriceBandStatsDTO(band * bandWidth, upperBound, totals.counts[band],
+                            totals.units[band], totals.values[band]));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsertRow(InventoryItemDTO item) {
+        Integer row = rowById.get(item.getId());
+        if (row == null) {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowById.put(item.getId(), row);
+        }
+        ids[row] = item.getId();
+        prices[row] = item.getPrice() != null ? item.getPrice() : 0.0;
+        quantities[row] = item.getQuantity() != null ? item.getQuantity() : 0;
+        categoryCodes[row] = categoryDictionary.computeIfAbsent(item.getCategory(), name -> {
+            categoryNames.add(name);
+            return categoryNames.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+    }
+
+    // Must be called with the read lock held; chunk tasks inherit visibility from the submitting thread
+    private Partial scan(ValuationFilter filter, Grouping grouping, double bandWidth, int groups) {
+        int category = ANY_CATEGORY;
+        if (filter.category() != null) {
+            Integer code = categoryDictionary.get(filter.category());
+            if (code == null) {
+                return new Partial(groups);
+            }
+            category = code;
+        }
+        double minPrice = filter.minPrice() != null ? filter.minPrice() : Double.NEGATIVE_INFINITY;
+        double maxPrice = filter.maxPrice() != null ? filter.maxPrice() : Double.POSITIVE_INFINITY;
+        int minQuantity = filter.minQuantity() != null ? filter.minQuantity() : Integer.MIN_VALUE;
+        int maxQuantity = filter.maxQuantity() != null ? filter.maxQuantity() : Integer.MAX_VALUE;
+        int rows = size;
+        int matchCategory = category;
+
+        if (rows < PARALLEL_THRESHOLD) {
+            Partial partial = new Partial(groups);
+            accumulate(0, rows, matchCategory, minPrice, maxPrice, minQuantity, maxQuantity,
+                    grouping, bandWidth, partial);
+            return partial;
+        }
+        int chunks = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    Partial partial = new Partial(groups);
+                    accumulate(chunk * CHUNK_SIZE, Math.min(rows, (chunk + 1) * CHUNK_SIZE), matchCategory,
+                            minPrice, maxPrice, minQuantity, maxQuantity, grouping, bandWidth, partial);
+                    return partial;
+                })
+                .reduce(Partial::merge)
+                .orElseGet(() -> new Partial(groups));
+    }
+
+    private void accumulate(int from, int to, int category, double minPrice, double maxPrice,
+                            int minQuantity, int maxQuantity, Grouping grouping, double bandWidth,
+                            Partial partial) {
+        double[] price = prices;
+        int[] quantity = quantities;
+        int[] categoryCode = categoryCodes;
+        long[] counts = partial.counts;
+        long[] units = partial.units;
+        double[] values = partial.values;
+        int lastGroup = counts.length - 1;
+
+        for (int row = from; row < to; row++) {
+            double p = price[row];
+            int q = quantity[row];
+            int c = categoryCode[row];
+            if ((category != ANY_CATEGORY && c != category)
+                    || p < minPrice || p > maxPrice || q < minQuantity || q > maxQuantity) {
+                continue;
+            }
+            int group = switch (grouping) {
+                case NONE -> 0;
+                case CATEGORY -> c;
+                case PRICE_BAND -> (int) Math.max(0, Math.min(p / bandWidth, lastGroup));
+            };
+            counts[group]++;
+            units[group] += q;
+            values[group] += p * q;
+        }
+    }
+
+    private static final class Partial {
+        final long[] counts;
+        final long[] units;
+        final double[] values;
+
+        Partial(int groups) {
+            counts = new long[groups];
+            units = new long[groups];
+            values = new double[groups];
+        }
+
+        Partial merge(Partial other) {
+            for (int group = 0; group < counts.length; group++) {
+                counts[group] += other.counts[group];
+                units[group] += other.units[group];
+                values[group] += other.values[group];
+            }
+            return this;
+        }
+    }
+}
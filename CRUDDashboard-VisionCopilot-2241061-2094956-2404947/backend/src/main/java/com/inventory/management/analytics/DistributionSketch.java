@@ -0,0 +1,140 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.DistributionDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.ValueDistributionDTO;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Streaming summary of one manager's catalog: HdrHistograms of quantity and price (in cents)
+ * and a HyperLogLog of category names. Every item write updates it in place, so percentiles,
+ * histograms and the distinct-category estimate are read without touching the item table.
+ *
+ * <p>Histograms keep {@value #SIGNIFICANT_DIGITS} significant digits, which bounds the relative
+ * error of every reported value to 1% while the footprint grows only with the logarithm of the
+ * largest value. Sketches are mergeable, so per-manager sketches can be combined into a total.
+ */
+public class DistributionSketch {
+
+    static final int SIGNIFICANT_DIGITS = 2;
+    static final int HISTOGRAM_BUCKETS = 10;
+
+    private static final double[] PERCENTILES = {50, 75, 90, 95, 99};
+    private static final double CENTS_PER_UNIT = 100.0;
+    private static final int MIN_STALE_REMOVALS = 32;
+
+    private final Histogram quantities = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram priceCents = new Histogram(SIGNIFICANT_DIGITS);
+    private final HyperLogLog categories = new HyperLogLog();
+    private long staleCategoryRemovals;
+
+    /**
+     * Rebuilds the sketch from the rows returned by {@code source}, which is invoked while the
+     * sketch's monitor is held so concurrent updates are applied after the load.
+     */
+    public synchronized void load(Supplier<? extends Collection<InventoryItemDTO>> source) {
+        Collection<InventoryItemDTO> items = source.get();
+        quantities.reset();
+        priceCents.reset();
+        categories.clear();
+        staleCategoryRemovals = 0;
+        for (InventoryItemDTO item : items) {
+            record(item, 1);
+        }
+    }
+
+    public synchronized void add(InventoryItemDTO item) {
+        record(item, 1);
+    }
+
+    public synchronized void remove(InventoryItemDTO item) {
+        record(item, -1);
+        staleCategoryRemovals++;
+    }
+
+    public synchronized void replace(InventoryItemDTO previous, InventoryItemDTO current) {
+        record(previous, -1);
+        record(current, 1);
+        if (!Objects.equals(current.getCategory(), previous.getCategory())) {
+            staleCategoryRemovals++;
+        }
+    }
+
+    /**
+     * HyperLogLog cannot forget a category, so removals leave the distinct estimate too high
+     * until the sketch is rebuilt. True once enough removals have accumulated to be worth it.
+     */
+    public synchronized boolean needsRebuild() {
+        return staleCategoryRemovals > Math.max(MIN_STALE_REMOVALS, quantities.getTotalCount() / 8);
+    }
+
+    public synchronized void merge(DistributionSketch other) {
+        synchronized (other) {
+            quantities.add(other.quantities);
+            priceCents.add(other.priceCents);
+            categories.merge(other.categories);
+            staleCategoryRemovals += other.staleCategoryRemovals;
+        }
+    }
+
+    public synchronized DistributionDTO summarize() {
+        return new DistributionDTO(
+                quantities.getTotalCount(),
+                categories.estimate(),
+                summarize(quantities, 1.0),
+                summarize(priceCents, CENTS_PER_UNIT),
+                getEstimatedFootprintInBytes());
+    }
+
+    public synchronized long getEstimatedFootprintInBytes() {
+        return quantities.getEstimatedFootprintInBytes()
+                + priceCents.getEstimatedFootprintInBytes()
+                + categories.getEstimatedFootprintInBytes();
+    }
+
+    private void record(InventoryItemDTO item, long count) {
+        // HdrHistogram has no removal; a negative count at the same value undoes an earlier record.
+        // Min and max are not lowered by that, so summaries read them from the counts instead.
+        quantities.recordValueWithCount(Math.max(0, item.getQuantity() != null ? item.getQuantity() : 0), count);
+        priceCents.recordValueWithCount(
+                Math.max(0, Math.round((item.getPrice() != null ? item.getPrice() : 0.0) * CENTS_PER_UNIT)), count);
+        if (count > 0 && item.getCategory() != null) {
+            categories.add(item.getCategory());
+        }
+    }
+
+    private ValueDistributionDTO summarize(Histogram histogram, double scale) {
+        if (histogram.getTotalCount() == 0) {
+            return new ValueDistributionDTO(null, null, null, Map.of(), List.of());
+        }
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            percentiles.put("p" + (int) percentile, histogram.getValueAtPercentile(percentile) / scale);
+        }
+
+        long max = histogram.getValueAtPercentile(100);
+        long bucketWidth = Math.max(1, (max + HISTOGRAM_BUCKETS) / HISTOGRAM_BUCKETS);
+        List<ValueDistributionDTO.Bucket> buckets = new ArrayList<>();
+        for (HistogramIterationValue value : histogram.linearBucketValues(bucketWidth)) {
+            long upper = value.getValueIteratedTo() + 1;
+            buckets.add(new ValueDistributionDTO.Bucket((upper - bucketWidth) / scale, upper / scale,
+                    value.getCountAddedInThisIterationStep()));
+        }
+
+        return new ValueDistributionDTO(
+                histogram.getValueAtPercentile(0) / scale,
+                max / scale,
+                histogram.getMean() / scale,
+                percentiles,
+                buckets);
+    }
+}
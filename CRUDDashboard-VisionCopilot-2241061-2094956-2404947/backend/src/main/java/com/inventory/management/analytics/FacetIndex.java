@@ -0,0 +1,226 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.FacetedSearchDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bitmap indexes over one manager's items for faceted filtering. Every item gets a dense ordinal,
+ * and each facet value (category, stock status, price band) keeps a compressed bitmap of the
+ * ordinals that have it. A filter ORs the selected values within a facet and ANDs across facets.
+ *
+ * <p>Facet counts are disjunctive: the counts for one facet apply the selections of the other
+ * facets only, so every value shows how many items selecting it would add.
+ * Ordinals of deleted items are reused to keep the bitmaps dense.
+ */
+public class FacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String STOCK_STATUS = "stockStatus";
+    public static final String PRICE_BAND = "priceBand";
+
+    private final double[] priceBandEdges;
+    private final String[] priceBandLabels;
+    private final ToIntFunction<InventoryItemDTO> reorderPointOf;
+
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final List<InventoryItemDTO> itemByOrdinal = new ArrayList<>();
+    private final RoaringBitmap freeOrdinals = new RoaringBitmap();
+    private final RoaringBitmap live = new RoaringBitmap();
+
+    private final Map<String, RoaringBitmap> byCategory = new TreeMap<>();
+    private final Map<StockStatus, RoaringBitmap> byStockStatus = new EnumMap<>(StockStatus.class);
+    private final RoaringBitmap[] byPriceBand;
+
+    /**
+     * @param priceBandEdges ascending upper bounds of every price band but the last, which is open
+     * @param reorderPointOf the reorder point below which an item counts as low stock
+     */
+    public FacetIndex(double[] priceBandEdges, ToIntFunction<InventoryItemDTO> reorderPointOf) {
+        this.priceBandEdges = priceBandEdges.clone();
+        this.reorderPointOf = reorderPointOf;
+        this.priceBandLabels = new String[priceBandEdges.length + 1];
+        this.byPriceBand = new RoaringBitmap[priceBandEdges.length + 1];
+        double lower = 0;
+        for (int band = 0; band < priceBandLabels.length; band++) {
+            priceBandLabels[band] = band < priceBandEdges.length
+                    ? format(lower) + "-" + format(priceBandEdges[band])
+                    : format(lower) + "+";
+            byPriceBand[band] = new RoaringBitmap();
+            if (band < priceBandEdges.length) {
+                lower = priceBandEdges[band];
+            }
+        }
+        for (StockStatus status : StockStatus.values()) {
+            byStockStatus.put(status, new RoaringBitmap());
+        }
+    }
+
+    /**
+     * Rebuilds the index from {@code source}, which is invoked while the index's monitor is held.
+     */
+    public synchronized void load(Supplier<? extends Collection<InventoryItemDTO>> source) {
+        Collection<InventoryItemDTO> items = source.get();
+        ordinalById.clear();
+        itemByOrdinal.clear();
+        freeOrdinals.clear();
+        live.clear();
+        byCategory.clear();
+        byStockStatus.values().forEach(RoaringBitmap::clear);
+        Arrays.stream(byPriceBand).forEach(RoaringBitmap::clear);
+        for (InventoryItemDTO item : items) {
+            upsertItem(item);
+        }
+        live.runOptimize();
+        byCategory.values().forEach(RoaringBitmap::runOptimize);
+        byStockStatus.values().forEach(RoaringBitmap::runOptimize);
+        Arrays.stream(byPriceBand).forEach(RoaringBitmap::runOptimize);
+    }
+
+    public synchronized void upsert(InventoryItemDTO item) {
+        upsertItem(item);
+    }
+
+    public synchronized void remove(Long id) {
+        Integer ordinal = ordinalById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        unindex(ordinal);
+        itemByOrdinal.set(ordinal, null);
+        live.remove(ordinal);
+        freeOrdinals.add(ordinal);
+    }
+
+    /**
+     * Items matching the selections, ordered by id, plus disjunctive counts for every facet value.
+     * An empty or {@code null} selection does not restrict its facet; unknown values match nothing.
+     */
+    public synchronized FacetedSearchDTO search(Set<String> categories, Set<StockStatus> statuses,
+                                                Set<String> priceBands, int offset, int limit) {
+        RoaringBitmap categoryMatch = union(categories, byCategory::get);
+        RoaringBitmap statusMatch = union(statuses, byStockStatus::get);
+        RoaringBitmap priceBandMatch = union(priceBands, this::priceBandBitmap);
+
+        RoaringBitmap matches = live.clone();
+        and(matches, categoryMatch);
+        and(matches, statusMatch);
+        and(matches, priceBandMatch);
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put(CATEGORY, counts(byCategory, restrictedBy(statusMatch, priceBandMatch)));
+        Map<String, RoaringBitmap> statusBitmaps = new LinkedHashMap<>();
+        byStockStatus.forEach((status, bitmap) -> statusBitmaps.put(status.name(), bitmap));
+        facets.put(STOCK_STATUS, counts(statusBitmaps, restrictedBy(categoryMatch, priceBandMatch)));
+        Map<String, RoaringBitmap> bandBitmaps = new LinkedHashMap<>();
+        for (int band = 0; band < byPriceBand.length; band++) {
+            bandBitmaps.put(priceBandLabels[band], byPriceBand[band]);
+        }
+        facets.put(PRICE_BAND, counts(bandBitmaps, restrictedBy(categoryMatch, statusMatch)));
+
+        List<InventoryItemDTO> page = new ArrayList<>(matches.getCardinality());
+        matches.forEach((int ordinal) -> page.add(itemByOrdinal.get(ordinal)));
+        page.sort(Comparator.comparing(InventoryItemDTO::getId));
+        int from = Math.min(offset, page.size());
+        int to = (int) Math.min((long) from + limit, page.size());
+        return new FacetedSearchDTO((long) page.size(), List.copyOf(page.subList(from, to)), facets);
+    }
+
+    private void upsertItem(InventoryItemDTO item) {
+        Integer ordinal = ordinalById.get(item.getId());
+        if (ordinal != null) {
+            unindex(ordinal);
+        } else if (!freeOrdinals.isEmpty()) {
+            ordinal = freeOrdinals.first();
+            freeOrdinals.remove(ordinal);
+        } else {
+            ordinal = itemByOrdinal.size();
+            itemByOrdinal.add(null);
+        }
+        ordinalById.put(item.getId(), ordinal);
+        itemByOrdinal.set(ordinal, item);
+        live.add(ordinal);
+        byCategory.computeIfAbsent(item.getCategory(), category -> new RoaringBitmap()).add(ordinal);
+        byStockStatus.get(StockStatus.of(item.getQuantity(), reorderPointOf.applyAsInt(item))).add(ordinal);
+        byPriceBand[priceBand(item.getPrice())].add(ordinal);
+    }
+
+    private void unindex(int ordinal) {
+        InventoryItemDTO previous = itemByOrdinal.get(ordinal);
+        RoaringBitmap category = byCategory.get(previous.getCategory());
+        category.remove(ordinal);
+        if (category.isEmpty()) {
+            byCategory.remove(previous.getCategory());
+        }
+        byStockStatus.get(StockStatus.of(previous.getQuantity(), reorderPointOf.applyAsInt(previous))).remove(ordinal);
+        byPriceBand[priceBand(previous.getPrice())].remove(ordinal);
+    }
+
+    private int priceBand(Double price) {
+        double value = price != null ? price : 0.0;
+        int band = 0;
+        while (band < priceBandEdges.length && value >= priceBandEdges[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    private RoaringBitmap priceBandBitmap(String label) {
+        int band = Arrays.asList(priceBandLabels).indexOf(label);
+        return band >= 0 ? byPriceBand[band] : null;
+    }
+
+    private static <K> RoaringBitmap union(Set<K> selected, Function<K, RoaringBitmap> lookup) {
+        if (selected == null || selected.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap union = new RoaringBitmap();
+        for (K value : selected) {
+            RoaringBitmap bitmap = lookup.apply(value);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private static void and(RoaringBitmap target, RoaringBitmap restriction) {
+        if (restriction != null) {
+            target.and(restriction);
+        }
+    }
+
+    // Live items restricted by the selections of the other two facets
+    private RoaringBitmap restrictedBy(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap context = live.clone();
+        and(context, first);
+        and(context, second);
+        return context;
+    }
+
+    private static Map<String, Long> counts(Map<String, RoaringBitmap> values, RoaringBitmap context) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        values.forEach((value, bitmap) -> counts.put(value, (long) RoaringBitmap.andCardinality(bitmap, context)));
+        return counts;
+    }
+
+    private static String format(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
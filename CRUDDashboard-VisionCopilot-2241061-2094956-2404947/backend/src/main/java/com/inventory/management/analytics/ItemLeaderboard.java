@@ -0,0 +1,134 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.LeaderboardEntryDTO;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Incrementally maintained top-K rankings for one manager: items by stock value, and items by
+ * units moved out of stock during the last {@value #WINDOW_DAYS} days. Each write re-ranks one
+ * item in O(log n); reading the top k is O(k).
+ *
+ * <p>Units moved are tracked per item in a ring of daily buckets indexed by epoch day. When the
+ * day changes, expired buckets are cleared and the moving board is re-scored once.
+ */
+public class ItemLeaderboard {
+
+    static final int WINDOW_DAYS = 7;
+
+    private final RankedIndex byStockValue = new RankedIndex();
+    private final RankedIndex byUnitsMoved = new RankedIndex();
+    private final Map<Long, InventoryItemDTO> items = new HashMap<>();
+    private final Map<Long, long[]> dailyUnitsMoved = new HashMap<>();
+    private long currentDay = Long.MIN_VALUE;
+
+    /**
+     * Replaces the stock-value ranking with the rows returned by {@code source}, which is invoked
+     * while the leaderboard's monitor is held. Movement history is kept for items that still exist.
+     */
+    public synchronized void load(Supplier<? extends Collection<InventoryItemDTO>> source) {
+        Collection<InventoryItemDTO> loaded = source.get();
+        items.clear();
+        byStockValue.clear();
+        for (InventoryItemDTO item : loaded) {
+            upsertItem(item);
+        }
+        dailyUnitsMoved.keySet().removeIf(id -> {
+            boolean gone = !items.containsKey(id);
+            if (gone) {
+                byUnitsMoved.remove(id);
+            }
+            return gone;
+        });
+    }
+
+    public synchronized void upsert(InventoryItemDTO item) {
+        upsertItem(item);
+    }
+
+    public synchronized void remove(Long id) {
+        items.remove(id);
+        byStockValue.remove(id);
+        byUnitsMoved.remove(id);
+        dailyUnitsMoved.remove(id);
+    }
+
+    /**
+     * Adds {@code units} taken out of stock for the item on {@code epochDay}.
+     */
+    public synchronized void recordUnitsMoved(Long id, long units, long epochDay) {
+        if (units <= 0 || !items.containsKey(id)) {
+            return;
+        }
+        advanceTo(epochDay);
+        if (epochDay <= currentDay - WINDOW_DAYS) {
+            return;
+        }
+        long[] buckets = dailyUnitsMoved.computeIfAbsent(id, key -> new long[WINDOW_DAYS]);
+        buckets[slot(epochDay)] += units;
+        byUnitsMoved.update(id, byUnitsMoved.score(id) + units);
+    }
+
+    public synchronized List<LeaderboardEntryDTO> topByStockValue(int k) {
+        return entries(byStockValue, k);
+    }
+
+    public synchronized List<LeaderboardEntryDTO> topByUnitsMoved(int k, long epochDay) {
+        advanceTo(epochDay);
+        return entries(byUnitsMoved, k);
+    }
+
+    private void upsertItem(InventoryItemDTO item) {
+        items.put(item.getId(), item);
+        double price = item.getPrice() != null ? item.getPrice() : 0.0;
+        int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+        byStockValue.update(item.getId(), price * quantity);
+    }
+
+    private List<LeaderboardEntryDTO> entries(RankedIndex index, int k) {
+        return index.top(k).stream()
+                .map(id -> {
+                    InventoryItemDTO item = items.get(id);
+                    return new LeaderboardEntryDTO(id, item.getName(), item.getSku(), item.getCategory(),
+                            index.score(id));
+                })
+                .toList();
+    }
+
+    private void advanceTo(long epochDay) {
+        if (currentDay == Long.MIN_VALUE || epochDay <= currentDay) {
+            currentDay = Math.max(currentDay, epochDay);
+            return;
+        }
+        long expiredDays = Math.min(epochDay - currentDay, WINDOW_DAYS);
+        Iterator<Map.Entry<Long, long[]>> iterator = dailyUnitsMoved.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, long[]> entry = iterator.next();
+            long[] buckets = entry.getValue();
+            for (long day = currentDay + 1; day <= currentDay + expiredDays; day++) {
+                buckets[slot(day)] = 0;
+            }
+            long total = 0;
+            for (long units : buckets) {
+                total += units;
+            }
+            if (total == 0) {
+                iterator.remove();
+                byUnitsMoved.remove(entry.getKey());
+            } else {
+                byUnitsMoved.update(entry.getKey(), total);
+            }
+        }
+        currentDay = epochDay;
+    }
+
+    private static int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) WINDOW_DAYS);
+    }
+}
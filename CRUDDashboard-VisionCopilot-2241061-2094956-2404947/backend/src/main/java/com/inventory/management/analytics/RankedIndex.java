@@ -0,0 +1,64 @@
+package com.inventory.management.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Items ordered by descending score, with ties broken by id. The id map locates an item's
+ * current entry, so updates and removals cost O(log n) and the top k are read in O(k).
+ */
+class RankedIndex {
+
+    private record Entry(long id, double score) {
+    }
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingDouble(Entry::score).reversed().thenComparingLong(Entry::id);
+
+    private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    void update(long id, double score) {
+        Entry entry = new Entry(id, score);
+        Entry previous = entries.put(id, entry);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(entry);
+    }
+
+    void remove(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+    }
+
+    double score(long id) {
+        Entry entry = entries.get(id);
+        return entry != null ? entry.score() : 0;
+    }
+
+    List<Long> top(int k) {
+        List<Long> ids = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Entry> iterator = ranking.iterator();
+        while (ids.size() < k && iterator.hasNext()) {
+            ids.add(iterator.next().id());
+        }
+        return ids;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        ranking.clear();
+        entries.clear();
+    }
+}
@@ -0,0 +1,68 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.ReorderItemDTO;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Items below their reorder point, ordered by shortfall (reorder point minus quantity) so the
+ * items nearest stockout come first. Only items that need reordering are held.
+ */
+public class ReorderIndex {
+
+    private record Entry(InventoryItemDTO item, int reorderPoint) {
+    }
+
+    private final RankedIndex byShortfall = new RankedIndex();
+    private final Map<Long, Entry> belowReorderPoint = new HashMap<>();
+
+    /**
+     * Rebuilds the index from {@code source}, which is invoked while the index's monitor is held
+     * and may return items above their reorder point; those are skipped.
+     */
+    public synchronized void load(Supplier<? extends Collection<InventoryItemDTO>> source,
+                                  ToIntFunction<InventoryItemDTO> reorderPointOf) {
+        Collection<InventoryItemDTO> items = source.get();
+        byShortfall.clear();
+        belowReorderPoint.clear();
+        for (InventoryItemDTO item : items) {
+            update(item, reorderPointOf.applyAsInt(item));
+        }
+    }
+
+    public synchronized void update(InventoryItemDTO item, int reorderPoint) {
+        int shortfall = reorderPoint - item.getQuantity();
+        if (shortfall > 0) {
+            belowReorderPoint.put(item.getId(), new Entry(item, reorderPoint));
+            byShortfall.update(item.getId(), shortfall);
+        } else {
+            remove(item.getId());
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        belowReorderPoint.remove(id);
+        byShortfall.remove(id);
+    }
+
+    public synchronized int size() {
+        return belowReorderPoint.size();
+    }
+
+    public synchronized List<ReorderItemDTO> mostUrgent(int k) {
+        return byShortfall.top(k).stream()
+                .map(id -> {
+                    Entry entry = belowReorderPoint.get(id);
+                    InventoryItemDTO item = entry.item();
+                    return new ReorderItemDTO(id, item.getName(), item.getSku(), item.getCategory(),
+                            item.getQuantity(), entry.reorderPoint(), entry.reorderPoint() - item.getQuantity());
+                })
+                .toList();
+    }
+}
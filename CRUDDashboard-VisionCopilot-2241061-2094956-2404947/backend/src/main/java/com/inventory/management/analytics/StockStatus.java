@@ -0,0 +1,15 @@
+package com.inventory.management.analytics;
+
+public enum StockStatus {
+    IN_STOCK,
+    LOW_STOCK,
+    OUT_OF_STOCK;
+
+    public static StockStatus of(Integer quantity, int reorderPoint) {
+        int units = quantity != null ? quantity : 0;
+        if (units <= 0) {
+            return OUT_OF_STOCK;
+        }
+        return units < reorderPoint ? LOW_STOCK : IN_STOCK;
+    }
+}
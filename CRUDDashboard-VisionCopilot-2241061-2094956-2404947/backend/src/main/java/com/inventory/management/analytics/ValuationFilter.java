@@ -0,0 +1,13 @@
+package com.inventory.management.analytics;
+
+/**
+ * Row filter for valuation queries. Every criterion is optional; {@code null} matches all rows.
+ * Price and quantity bounds are inclusive and the category must match exactly.
+ */
+public record ValuationFilter(String category, Double minPrice, Double maxPrice,
+                              Integer minQuantity, Integer maxQuantity) {
+
+    public static ValuationFilter all() {
+        return new ValuationFilter(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory.management.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cache coherence between backend nodes that share a database. When enabled, every committed item
+ * write is logged in {@code cache_invalidations} and every node polls that log each
+ * {@code poll-interval}, so a node serves another node's write from its caches for at most about
+ * one poll interval.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    private boolean enabled = false;
+
+    // Identifies this node's own log entries, which it has already applied locally
+    private String nodeId = UUID.randomUUID().toString();
+
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    private int batchSize = 500;
+
+    // How long a missing log id is waited for before it is taken to be a rolled-back write
+    private Duration gapTimeout = Duration.ofSeconds(10);
+
+    private Duration retention = Duration.ofMinutes(10);
+}
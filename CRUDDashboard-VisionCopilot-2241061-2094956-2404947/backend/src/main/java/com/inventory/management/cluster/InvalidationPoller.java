@@ -0,0 +1,184 @@
+package com.inventory.management.cluster;
+
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.sharding.ShardRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the invalidation log written by other nodes. Each poll reads the entries committed since
+ * the last one in a single batch, merges them into one {@link CachesInvalidatedEvent} per poll and
+ * records how long each entry took from its write to being applied here.
+ *
+ * <p>Log ids are assigned at insert but become visible at commit, so a lower id can show up after
+ * a higher one. Skipped ids are re-checked on every poll until they appear or
+ * {@code gap-timeout} has passed, which covers rolled-back writes that never appear.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.cache.invalidation.enabled", havingValue = "true")
+public class InvalidationPoller implements DisposableBean {
+
+    static final String LAG_METRIC = "inventory.cache.invalidation.lag";
+    static final String RECEIVED_METRIC = "inventory.cache.invalidation.received";
+
+    // Larger jumps in the id sequence are not tracked id by id
+    private static final int MAX_TRACKED_GAP = 1000;
+
+    private final CacheInvalidationProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+    private final List<Source> sources;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long lastCleanup = System.nanoTime();
+
+    public InvalidationPoller(DataSource dataSource, CacheInvalidationProperties properties,
+                              ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry)
+            throws SQLException {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder(LAG_METRIC)
+                .description("Time from another node's write to dropping the caches it invalidates")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // With sharding, writes are logged on the shard of their manager
+        List<DataSource> dataSources = dataSource.isWrapperFor(ShardRoutingDataSource.class)
+                ? List.copyOf(dataSource.unwrap(ShardRoutingDataSource.class).getShards().values())
+                : List.of(dataSource);
+        this.sources = dataSources.stream().map(source -> new Source(new JdbcTemplate(source))).toList();
+    }
+
+    // Caches start empty, so entries written before this node started are skipped
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (Source source : sources) {
+            Long maxId = source.jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_invalidations", Long.class);
+            source.maxSeen = maxId != null ? maxId : 0;
+        }
+        long interval = properties.getPollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    void poll() {
+        try {
+            Set<Long> managerIds = new HashSet<>();
+            for (Source source : sources) {
+                readNew(source, managerIds);
+                recheckGaps(source, managerIds);
+            }
+            if (!managerIds.isEmpty()) {
+                eventPublisher.publishEvent(new CachesInvalidatedEvent(Set.copyOf(managerIds)));
+            }
+            cleanUpIfDue();
+        } catch (RuntimeException e) {
+            // Keep polling; the entries are read again on the next attempt
+            log.warn("Could not poll the cache invalidation log", e);
+        }
+    }
+
+    private void readNew(Source source, Set<Long> managerIds) {
+        List<Entry> entries = source.jdbcTemplate.query(
+                "SELECT id, node_id, manager_id, created_at FROM cache_invalidations WHERE id > ? ORDER BY id LIMIT ?",
+                (resultSet, row) -> new Entry(resultSet.getLong(1), resultSet.getString(2), resultSet.getLong(3),
+                        resultSet.getTimestamp(4)),
+                source.maxSeen, properties.getBatchSize());
+        long now = System.nanoTime();
+        for (Entry entry : entries) {
+            if (entry.id() - source.maxSeen - 1 <= MAX_TRACKED_GAP) {
+                for (long missing = source.maxSeen + 1; missing < entry.id(); missing++) {
+                    source.gaps.put(missing, now);
+                }
+            }
+            source.maxSeen = entry.id();
+            apply(entry, managerIds);
+        }
+    }
+
+    private void recheckGaps(Source source, Set<Long> managerIds) {
+        if (source.gaps.isEmpty()) {
+            return;
+        }
+        String ids = source.gaps.keySet().stream().map(String::valueOf).collect(Collectors.joining(", "));
+        List<Entry> entries = source.jdbcTemplate.query(
+                "SELECT id, node_id, manager_id, created_at FROM cache_invalidations WHERE id IN (" + ids + ")",
+                (resultSet, row) -> new Entry(resultSet.getLong(1), resultSet.getString(2), resultSet.getLong(3),
+                        resultSet.getTimestamp(4)));
+        for (Entry entry : entries) {
+            source.gaps.remove(entry.id());
+            apply(entry, managerIds);
+        }
+        long expired = System.nanoTime() - properties.getGapTimeout().toNanos();
+        source.gaps.values().removeIf(noticed -> noticed - expired < 0);
+    }
+
+    private void apply(Entry entry, Set<Long> managerIds) {
+        if (properties.getNodeId().equals(entry.nodeId())) {
+            return;
+        }
+        managerIds.add(entry.managerId());
+        meterRegistry.counter(RECEIVED_METRIC).increment();
+        Duration sinceWrite = Duration.between(entry.createdAt().toInstant(), Instant.now());
+        lag.record(sinceWrite.isNegative() ? Duration.ZERO : sinceWrite);
+    }
+
+    private void cleanUpIfDue() {
+        long retention = properties.getRetention().toNanos();
+        if (System.nanoTime() - lastCleanup < Math.min(retention, TimeUnit.MINUTES.toNanos(1))) {
+            return;
+        }
+        lastCleanup = System.nanoTime();
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(properties.getRetention()));
+        for (Source source : sources) {
+            source.jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?", cutoff);
+        }
+    }
+
+    private record Entry(long id, String nodeId, long managerId, Timestamp createdAt) {
+    }
+
+    // Poll state for one database; only touched by the poller thread
+    private static final class Source {
+        private final JdbcTemplate jdbcTemplate;
+        private final Map<Long, Long> gaps = new HashMap<>();
+        private long maxSeen;
+
+        private Source(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+    }
+}
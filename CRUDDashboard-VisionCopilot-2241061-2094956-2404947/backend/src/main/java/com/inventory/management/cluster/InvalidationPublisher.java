@@ -0,0 +1,65 @@
+package com.inventory.management.cluster;
+
+import com.inventory.management.event.InventoryItemChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Logs item writes for the other nodes. The log entry is inserted before the write's transaction
+ * commits, so it becomes visible together with the write and is lost with it on rollback. A
+ * transaction logs each manager once, however many items it changes.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.cache.invalidation.enabled", havingValue = "true")
+public class InvalidationPublisher {
+
+    static final String PUBLISHED_METRIC = "inventory.cache.invalidation.published";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        if (!loggedInCurrentTransaction().add(event.managerId())) {
+            return;
+        }
+        jdbcTemplate.update(
+                "INSERT INTO cache_invalidations (node_id, manager_id, created_at) VALUES (?, ?, ?)",
+                properties.getNodeId(), event.managerId(), Timestamp.from(Instant.now()));
+        meterRegistry.counter(PUBLISHED_METRIC).increment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> loggedInCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashSet<>();
+        }
+        Set<Long> logged = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (logged == null) {
+            Set<Long> bound = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationPublisher.this);
+                }
+            });
+            logged = bound;
+        }
+        return logged;
+    }
+}
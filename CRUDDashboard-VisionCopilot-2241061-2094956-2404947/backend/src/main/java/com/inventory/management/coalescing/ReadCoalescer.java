@@ -0,0 +1,66 @@
+package com.inventory.management.coalescing;
+
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.tenant.ManagerDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for the expensive read endpoints, so a burst of identical requests from one
+ * manager's dashboards runs their queries once. Results are reused for
+ * {@code inventory.coalescing.reuse-window}; an item write drops its manager's results as soon as
+ * it commits, so a request made after a write never gets a result computed before it.
+ */
+@Component
+public class ReadCoalescer {
+
+    public static final String DASHBOARD = "dashboard";
+    public static final String SEARCH = "search";
+    public static final String CATEGORY_STATS = "categoryStats";
+
+    private final Map<String, SingleFlight<Key>> flights = new HashMap<>();
+    private final ManagerDirectory managerDirectory;
+
+    public ReadCoalescer(@Value("${inventory.coalescing.reuse-window:200ms}") Duration reuseWindow,
+                         MeterRegistry meterRegistry, ManagerDirectory managerDirectory) {
+        this.managerDirectory = managerDirectory;
+        for (String endpoint : List.of(DASHBOARD, SEARCH, CATEGORY_STATS)) {
+            flights.put(endpoint, new SingleFlight<>(endpoint, reuseWindow, meterRegistry));
+        }
+    }
+
+    /**
+     * The result of {@code computation} for the current manager, shared with identical concurrent
+     * requests. {@code arguments} must hold every request parameter the result depends on.
+     */
+    public <T> T coalesce(String endpoint, List<?> arguments, Supplier<T> computation) {
+        SingleFlight<Key> flight = flights.get(endpoint);
+        if (flight == null) {
+            throw new IllegalArgumentException("Unknown coalesced endpoint: " + endpoint);
+        }
+        return flight.execute(new Key(managerDirectory.currentManagerId(), arguments), computation);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        flights.values().forEach(flight -> flight.forget(key -> key.managerId().equals(event.managerId())));
+    }
+
+    @EventListener
+    public void onCachesInvalidated(CachesInvalidatedEvent event) {
+        flights.values().forEach(flight -> flight.forget(key -> event.managerIds().contains(key.managerId())));
+    }
+
+    private record Key(Long managerId, List<?> arguments) {
+    }
+}
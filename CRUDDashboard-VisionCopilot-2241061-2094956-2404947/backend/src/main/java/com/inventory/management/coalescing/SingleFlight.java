@@ -0,0 +1,98 @@
+package com.inventory.management.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs one computation per key at a time. The first caller for a key computes the result; callers
+ * that arrive while it is running wait for it and get the same result, and callers within
+ * {@code reuseWindow} after it completed get it without computing anything. Failures are handed to
+ * the waiting callers but never reused.
+ *
+ * <p>{@link #forget} drops results and running computations, so later callers start a fresh one;
+ * callers already waiting still get the result they joined.
+ *
+ * @param <K> the key, which must identify everything the result depends on
+ */
+public class SingleFlight<K> {
+
+    public static final String REQUESTS_METRIC = "inventory.coalescing.requests";
+    public static final String FLIGHTS_METRIC = "inventory.coalescing.flights";
+
+    private final Duration reuseWindow;
+    private final Map<K, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final Counter computed;
+    private final Counter joined;
+    private final Counter reused;
+
+    public SingleFlight(String name, Duration reuseWindow, MeterRegistry meterRegistry) {
+        this.reuseWindow = reuseWindow;
+        this.computed = counter(meterRegistry, name, "computed");
+        this.joined = counter(meterRegistry, name, "joined");
+        this.reused = counter(meterRegistry, name, "reused");
+        Gauge.builder(FLIGHTS_METRIC, flights, Map::size)
+                .tag("flight", name)
+                .description("Running computations and reusable results")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .tag("flight", name)
+                .tag("result", result)
+                .description("Coalesced read requests by whether they computed, joined or reused the result")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(K key, Supplier<T> computation) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            (existing.isDone() ? reused : joined).increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+        computed.increment();
+        T result;
+        try {
+            result = computation.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        flight.complete(result);
+        if (reuseWindow.isZero()) {
+            flights.remove(key, flight);
+        } else {
+            CompletableFuture.delayedExecutor(reuseWindow.toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> flights.remove(key, flight));
+        }
+        return result;
+    }
+
+    public void forget(Predicate<? super K> keys) {
+        flights.keySet().removeIf(keys);
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return (RuntimeException) failure;
+    }
+}
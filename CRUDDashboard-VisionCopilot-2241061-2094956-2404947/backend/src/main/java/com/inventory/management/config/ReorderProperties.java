@@ -0,0 +1,31 @@
+package com.inventory.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reorder points used for items that do not set their own: a per-category default, falling back
+ * to {@code inventory.reorder.default-point}. An item needs reordering while its quantity is below
+ * its reorder point.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.reorder")
+public class ReorderProperties {
+    
+    private int defaultPoint = 10;
+    
+    private Map<String, Integer> categoryDefaults = new HashMap<>();
+    
+    public int defaultPointFor(String category) {
+        return categoryDefaults.getOrDefault(category, defaultPoint);
+    }
+    
+    public int maxDefaultPoint() {
+        return categoryDefaults.values().stream().mapToInt(Integer::intValue).reduce(defaultPoint, Math::max);
+    }
+}
@@ -0,0 +1,77 @@
+package com.inventory.management.controller;
+
+import com.inventory.management.analytics.ValuationFilter;
+import com.inventory.management.coalescing.ReadCoalescer;
+import com.inventory.management.dto.CategoryStatsDTO;
+import com.inventory.management.dto.DistributionDTO;
+import com.inventory.management.dto.LeaderboardEntryDTO;
+import com.inventory.management.dto.PriceBandStatsDTO;
+import com.inventory.management.dto.ValuationDTO;
+import com.inventory.management.service.AnalyticsService;
+import com.inventory.management.service.DistributionService;
+import com.inventory.management.service.LeaderboardService;
+import com.inventory.management.service.ValuationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/inventory/analytics")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    
+    private final AnalyticsService analyticsService;
+    private final ValuationService valuationService;
+    private final DistributionService distributionService;
+    private final LeaderboardService leaderboardService;
+    private final ReadCoalescer readCoalescer;
+    
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategoryStatsDTO>> getCategoryStats() {
+        return ResponseEntity.ok(readCoalescer.coalesce(ReadCoalescer.CATEGORY_STATS, List.of(),
+                analyticsService::getCategoryStats));
+    }
+    
+    @GetMapping("/distribution")
+    public ResponseEntity<DistributionDTO> getDistribution() {
+        return ResponseEntity.ok(distributionService.getDistribution());
+    }
+    
+    @GetMapping("/top/value")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTopByStockValue(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > LeaderboardService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(leaderboardService.getTopByStockValue(limit));
+    }
+    
+    @GetMapping("/top/moving")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTopByUnitsMoved(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > LeaderboardService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(leaderboardService.getTopByUnitsMoved(limit));
+    }
+    
+    @GetMapping("/valuation")
+    public ResponseEntity<ValuationDTO> getValuation(ValuationFilter filter) {
+        return ResponseEntity.ok(valuationService.getValuation(filter));
+    }
+    
+    @GetMapping("/valuation/categories")
+    public ResponseEntity<List<CategoryStatsDTO>> getValuationByCategory(ValuationFilter filter) {
+        return ResponseEntity.ok(valuationService.getValuationByCategory(filter));
+    }
+    
+    @GetMapping("/valuation/price-bands")
+    public ResponseEntity<List<PriceBandStatsDTO>> getValuationByPriceBand(
+            ValuationFilter filter, @RequestParam(defaultValue = "100") double bandWidth) {
+        if (!(bandWidth > 0)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(valuationService.getValuationByPriceBand(filter, bandWidth));
+    }
+}
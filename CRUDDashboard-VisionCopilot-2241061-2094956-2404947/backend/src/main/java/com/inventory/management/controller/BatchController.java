@@ -0,0 +1,49 @@
+package com.inventory.management.controller;
+
+import com.inventory.management.dto.BatchRequestDTO;
+import com.inventory.management.dto.BatchResponseDTO;
+import com.inventory.management.service.BatchService;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class BatchController {
+    
+    private final BatchService batchService;
+    
+    // 200 with a result per operation; 409 when an atomic batch was rolled back
+    @PostMapping
+    public ResponseEntity<BatchResponseDTO> executeBatch(@RequestBody BatchRequestDTO request) {
+        if (request.getOperations() == null || request.getOperations().size() > BatchService.MAX_OPERATIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        BatchResponseDTO response = request.isAtomic()
+                ? batchService.executeAtomically(request.getOperations())
+                : batchService.executeIndividually(request.getOperations());
+        return ResponseEntity.status(response.isCommitted() ? HttpStatus.OK : HttpStatus.CONFLICT).body(response);
+    }
+    
+    // Raised by the commit of an atomic batch, after every operation has run, so no single
+    // operation can be blamed
+    @ExceptionHandler({DataIntegrityViolationException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Void> handleConflictOnCommit() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+    
+    @ExceptionHandler(TransactionSystemException.class)
+    public ResponseEntity<Void> handleFailedCommit(TransactionSystemException e) {
+        if (e.getRootCause() instanceof ConstraintViolationException) {
+            return ResponseEntity.badRequest().build();
+        }
+        throw e;
+    }
+}
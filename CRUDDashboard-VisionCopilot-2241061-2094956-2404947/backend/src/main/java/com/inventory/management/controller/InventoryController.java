@@ -1,17 +1,32 @@
 package com.inventory.management.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.inventory.management.analytics.StockStatus;
+import com.inventory.management.coalescing.ReadCoalescer;
+import com.inventory.management.config.BinaryFormatsConfig;
 import com.inventory.management.dto.DashboardStatsDTO;
+import com.inventory.management.dto.FacetedSearchDTO;
 import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.ReorderItemDTO;
+import com.inventory.management.fragment.JsonFragments;
 import com.inventory.management.model.InventoryItem;
+import com.inventory.management.repository.ItemProjection;
 import com.inventory.management.service.ActivityLogService;
+import com.inventory.management.service.FacetService;
 import com.inventory.management.service.InventoryService;
+import com.inventory.management.service.ReorderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/inventory")
@@ -21,39 +36,111 @@ public class InventoryController {
     
     private final InventoryService inventoryService;
     private final ActivityLogService activityLogService;
+    private final ReorderService reorderService;
+    private final FacetService facetService;
+    private final ReadCoalescer readCoalescer;
     
+    // Dashboards refreshing together share one computation; see ReadCoalescer
     @GetMapping("/dashboard")
     public ResponseEntity<DashboardStatsDTO> getDashboardStats() {
-        List<InventoryItem> allItems = inventoryService.getAllItems();
-        List<InventoryItem> lowStockItems = inventoryService.getLowStockItems();
-        List<InventoryItem> outOfStockItems = inventoryService.getOutOfStockItems();
+        return ResponseEntity.ok(readCoalescer.coalesce(ReadCoalescer.DASHBOARD, List.of(), this::buildDashboardStats));
+    }
+    
+    private DashboardStatsDTO buildDashboardStats() {
+        List<InventoryItemDTO> allItems = inventoryService.getAllItems();
         
         DashboardStatsDTO stats = new DashboardStatsDTO();
         stats.setTotalItems((long) allItems.size());
-        stats.setLowStockItems((long) lowStockItems.size());
-        stats.setOutOfStockItems((long) outOfStockItems.size());
-        stats.setItems(allItems.stream().map(inventoryService::convertToDTO).collect(Collectors.toList()));
+        stats.setLowStockItems(inventoryService.countLowStockItems());
+        stats.setOutOfStockItems(inventoryService.countOutOfStockItems());
+        stats.setItems(allItems);
         stats.setRecentActivities(activityLogService.getRecentActivities());
-        
-        return ResponseEntity.ok(stats);
+        return stats;
     }
     
+    // JSON is written from cached per-item encodings; the binary formats are encoded from DTOs below
     @GetMapping
+    public ResponseEntity<JsonFragments> getAllItemsJson() {
+        return ResponseEntity.ok(inventoryService.getAllItemsJson());
+    }
+    
+    @GetMapping(produces = {MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.SMILE_VALUE})
     public ResponseEntity<List<InventoryItemDTO>> getAllItems() {
-        List<InventoryItem> items = inventoryService.getAllItems();
-        List<InventoryItemDTO> itemDTOs = items.stream()
-                                                .map(inventoryService::convertToDTO)
-                                                .collect(Collectors.toList());
-        return ResponseEntity.ok(itemDTOs);
+        return ResponseEntity.ok(inventoryService.getAllItems());
+    }
+    
+    // Sparse fieldset, e.g. ?fields=id,sku,quantity: only those columns are selected and returned
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllItemFields(@RequestParam Set<String> fields) {
+        return ResponseEntity.ok(inventoryService.getAllItems(ItemProjection.of(fields)));
     }
     
     @GetMapping("/search")
     public ResponseEntity<List<InventoryItemDTO>> searchItems(@RequestParam String query) {
-        List<InventoryItem> items = inventoryService.searchItems(query);
-        List<InventoryItemDTO> itemDTOs = items.stream()
-                                                .map(inventoryService::convertToDTO)
-                                                .collect(Collectors.toList());
-        return ResponseEntity.ok(itemDTOs);
+        return ResponseEntity.ok(readCoalescer.coalesce(ReadCoalescer.SEARCH, List.of(query),
+                () -> inventoryService.searchItems(query)));
+    }
+    
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> searchItemFields(@RequestParam String query,
+                                                                      @RequestParam Set<String> fields) {
+        return ResponseEntity.ok(inventoryService.searchItems(query, ItemProjection.of(fields)));
+    }
+    
+    @GetMapping("/facets")
+    public ResponseEntity<FacetedSearchDTO> searchByFacets(
+            @RequestParam(required = false) Set<String> category,
+            @RequestParam(required = false) Set<StockStatus> stockStatus,
+            @RequestParam(required = false) Set<String> priceBand,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (offset < 0 || limit < 1 || limit > FacetService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(facetService.search(category, stockStatus, priceBand, offset, limit));
+    }
+    
+    @GetMapping("/reorder")
+    public ResponseEntity<List<ReorderItemDTO>> getItemsNeedingReorder(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > ReorderService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(reorderService.getItemsNeedingReorder(limit));
+    }
+    
+    @GetMapping("/sku/{sku}")
+    public ResponseEntity<InventoryItemDTO> getItemBySku(@PathVariable String sku) {
+        return inventoryService.getItemBySku(sku)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Two writers racing for the same SKU both pass the in-memory check; the unique constraint stops the second.
+    // Any other integrity violation is a server error, not a conflict the client can resolve
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Void> handleConstraintViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null
+                    && cause.getMessage().toLowerCase(Locale.ROOT).contains(InventoryItem.SKU_CONSTRAINT)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+        }
+        throw e;
+    }
+    
+    // The item was updated or deleted by a concurrent request after this one read it
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentUpdate() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+    
+    // One round trip instead of a GET per id; see InventoryService#getItemsJson for the response
+    @PostMapping("/batch-get")
+    public ResponseEntity<JsonFragments> batchGetItems(@RequestBody List<Long> ids) {
+        if (ids.size() > InventoryService.MAX_BATCH_GET || ids.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(inventoryService.getItemsJson(ids));
     }
     
     @GetMapping("/{id}")
@@ -79,6 +166,15 @@ public class InventoryController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    // JSON merge patch: send only the fields to change, e.g. {"quantity": 12}
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<InventoryItemDTO> patchItem(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return inventoryService.patchItem(id, patch)
+                .map(inventoryService::convertToDTO)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
         if (inventoryService.deleteItem(id)) {
@@ -0,0 +1,19 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationDTO {
+    
+    public enum Type { CREATE, UPDATE, DELETE }
+    
+    private Type type;
+    // Target of UPDATE and DELETE
+    private Long id;
+    // New state for CREATE and UPDATE
+    private InventoryItemDTO item;
+}
@@ -0,0 +1,16 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDTO {
+    // All operations commit together or not at all; false runs each in its own transaction
+    private boolean atomic = true;
+    private List<BatchOperationDTO> operations;
+}
@@ -0,0 +1,17 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponseDTO {
+    // False when an atomic batch was rolled back
+    private boolean committed;
+    // One per operation, in request order
+    private List<BatchResultDTO> results;
+}
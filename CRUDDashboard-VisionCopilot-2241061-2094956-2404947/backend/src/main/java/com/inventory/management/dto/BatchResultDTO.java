@@ -0,0 +1,15 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+    // The HTTP status the operation would have had as a single request
+    private int status;
+    private InventoryItemDTO item;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStatsDTO {
+    private String category;
+    private Long itemCount;
+    private Long totalUnits;
+    private Double stockValue;
+}
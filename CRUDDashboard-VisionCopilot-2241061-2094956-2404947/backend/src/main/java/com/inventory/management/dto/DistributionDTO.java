@@ -0,0 +1,16 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistributionDTO {
+    private Long itemCount;
+    private Long distinctCategoriesEstimate;
+    private ValueDistributionDTO quantity;
+    private ValueDistributionDTO price;
+    private Long sketchFootprintBytes;
+}
@@ -0,0 +1,19 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedSearchDTO {
+    // Number of matching items before paging
+    private Long total;
+    private List<InventoryItemDTO> items;
+    // Facet name -> facet value -> number of items
+    private Map<String, Map<String, Long>> facets;
+}
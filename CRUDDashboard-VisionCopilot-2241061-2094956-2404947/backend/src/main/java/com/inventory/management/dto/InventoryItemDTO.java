@@ -15,4 +15,5 @@ public class InventoryItemDTO {
     private Double price;
     private Integer quantity;
     private String imageUrl;
+    private Integer reorderPoint;
 }
@@ -0,0 +1,17 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+    private Long id;
+    private String name;
+    private String sku;
+    private String category;
+    // Stock value or units moved, depending on the leaderboard
+    private Double score;
+}
@@ -0,0 +1,17 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBandStatsDTO {
+    private Double lowerBound;
+    // Exclusive; null for the last band when it is open-ended
+    private Double upperBound;
+    private Long itemCount;
+    private Long totalUnits;
+    private Double stockValue;
+}
@@ -0,0 +1,19 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderItemDTO {
+    private Long id;
+    private String name;
+    private String sku;
+    private String category;
+    private Integer quantity;
+    private Integer reorderPoint;
+    // Units below the reorder point
+    private Integer shortfall;
+}
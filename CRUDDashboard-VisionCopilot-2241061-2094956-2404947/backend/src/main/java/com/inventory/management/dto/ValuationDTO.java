@@ -0,0 +1,14 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValuationDTO {
+    private Long itemCount;
+    private Long totalUnits;
+    private Double stockValue;
+}
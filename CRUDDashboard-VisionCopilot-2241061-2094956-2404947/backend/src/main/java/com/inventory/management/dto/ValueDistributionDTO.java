@@ -0,0 +1,29 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValueDistributionDTO {
+    private Double min;
+    private Double max;
+    private Double mean;
+    // Keyed by percentile label, e.g. "p50", "p99"
+    private Map<String, Double> percentiles;
+    private List<Bucket> histogram;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private Double lowerBound;
+        private Double upperBound;
+        private Long count;
+    }
+}
@@ -0,0 +1,19 @@
+package com.inventory.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionedItemDTO {
+    private Long version;
+    private InventoryItemDTO item;
+    
+    // Flat form for JPQL constructor expressions, which cannot nest
+    public VersionedItemDTO(Long version, Long id, String name, String sku, String category, Double price,
+                            Integer quantity, String imageUrl, Integer reorderPoint) {
+        this(version, new InventoryItemDTO(id, name, sku, category, price, quantity, imageUrl, reorderPoint));
+    }
+}
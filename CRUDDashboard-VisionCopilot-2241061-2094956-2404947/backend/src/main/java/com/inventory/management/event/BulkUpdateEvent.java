@@ -0,0 +1,13 @@
+package com.inventory.management.event;
+
+/**
+ * Published by a repository after it updated a row with a bulk statement. Hibernate only reports
+ * the writes of managed entities, so anything that follows row changes (replication) listens for
+ * this as well.
+ *
+ * @param table    the updated table
+ * @param idColumn its primary key column
+ * @param id       the id of the updated row
+ */
+public record BulkUpdateEvent(String table, String idColumn, Object id) {
+}
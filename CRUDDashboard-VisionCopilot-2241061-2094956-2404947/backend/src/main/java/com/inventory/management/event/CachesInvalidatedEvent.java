@@ -0,0 +1,12 @@
+package com.inventory.management.event;
+
+import java.util.Set;
+
+/**
+ * Published by InvalidationPoller when other nodes have committed item writes. Every in-process
+ * structure and cache of the listed managers may be stale and has to be dropped or rebuilt.
+ *
+ * @param managerIds the store managers whose items changed elsewhere
+ */
+public record CachesInvalidatedEvent(Set<Long> managerIds) {
+}
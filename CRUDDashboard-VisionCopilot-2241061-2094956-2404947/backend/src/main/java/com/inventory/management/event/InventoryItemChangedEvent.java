@@ -0,0 +1,26 @@
+package com.inventory.management.event;
+
+import com.inventory.management.dto.InventoryItemDTO;
+
+/**
+ * Published by InventoryService after an item is created, updated or deleted. In-memory read
+ * structures (caches, indexes) listen for it instead of re-reading the table.
+ *
+ * @param managerId the owning store manager
+ * @param previous  the item before the change, or {@code null} when it was created
+ * @param current   the item after the change, or {@code null} when it was deleted
+ */
+public record InventoryItemChangedEvent(Long managerId, InventoryItemDTO previous, InventoryItemDTO current) {
+
+    public Long itemId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    public boolean isCreated() {
+        return previous == null;
+    }
+
+    public boolean isDeleted() {
+        return current == null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.inventory.management.event;
+
+import com.inventory.management.dto.InventoryItemDTO;
+
+/**
+ * Published by ReorderService when an item's quantity drops below its reorder point, or rises
+ * back to it. Items that stay on the same side of their reorder point publish nothing.
+ *
+ * @param managerId      the owning store manager
+ * @param item           the item after the change
+ * @param reorderPoint   the effective reorder point the quantity was compared against
+ * @param needsReorder   {@code true} when the item dropped below the reorder point
+ */
+public record ReorderThresholdCrossedEvent(Long managerId, InventoryItemDTO item, int reorderPoint,
+                                           boolean needsReorder) {
+}
@@ -0,0 +1,14 @@
+package com.inventory.management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateSkuException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public DuplicateSkuException(String sku) {
+        super("An item with SKU '" + sku + "' already exists");
+    }
+}
@@ -0,0 +1,14 @@
+package com.inventory.management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldsException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.inventory.management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ManagerNotFoundException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ManagerNotFoundException(Long managerId) {
+        super("Store manager " + managerId + " does not exist");
+    }
+}
@@ -0,0 +1,160 @@
+package com.inventory.management.fragment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.VersionedItemDTO;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.tenant.TenantRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Each item's JSON encoding, per manager, keyed by item id and tagged with the item's version.
+ * A list is assembled from the (id, version) pairs currently in the database: fragments whose
+ * version still matches are reused as they are, and only the other items are loaded and encoded.
+ *
+ * <p>The version check alone keeps fragments correct, including for writes made by other nodes,
+ * so only local writes evict fragments, to release the memory of the replaced encoding. Updates made
+ * outside JPA must increment {@code version} as well. Items deleted by other nodes are dropped the
+ * next time the manager's full list is assembled, as their ids are no longer in it.
+ *
+ * <p>The fragments of a manager live in a {@link TenantRegistry}, so only the managers used most
+ * recently keep theirs; the others start empty on their next list.
+ */
+@Component
+public class ItemFragmentCache {
+
+    public static final String REQUESTS_METRIC = "inventory.fragments.requests";
+
+    private final ObjectWriter writer;
+    private final TenantRegistry<Map<Long, Fragment>> fragmentsByManager;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ItemFragmentCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             TenantRegistry<Map<Long, Fragment>> fragmentsByManager) {
+        this.writer = objectMapper.writerFor(InventoryItemDTO.class);
+        this.fragmentsByManager = fragmentsByManager;
+        this.hits = meterRegistry.counter(REQUESTS_METRIC, "result", "hit");
+        this.misses = meterRegistry.counter(REQUESTS_METRIC, "result", "miss");
+    }
+
+    /**
+     * The JSON array of the listed items, in order. Fragments of items that are not listed are
+     * dropped.
+     *
+     * @param idVersions (id, version) pairs of all the manager's items
+     * @param loader     loads the items whose fragments are missing or outdated; items it no longer
+     *                   finds are left out of the array
+     */
+    public JsonFragments assemble(Long managerId, List<Object[]> idVersions,
+                                  Function<List<Long>, List<VersionedItemDTO>> loader) {
+        Map<Long, Fragment> fragments = fragments(managerId);
+        byte[][] elements = fragments(fragments, idVersions, loader);
+        List<byte[]> present = new ArrayList<>(elements.length);
+        for (byte[] element : elements) {
+            if (element != null) {
+                present.add(element);
+            }
+        }
+        // Every present item has its fragment, so any more belong to items deleted since
+        if (fragments.size() > present.size()) {
+            Set<Long> listed = new HashSet<>();
+            for (Object[] idVersion : idVersions) {
+                listed.add((Long) idVersion[0]);
+            }
+            fragments.keySet().retainAll(listed);
+        }
+        return new JsonFragments(present);
+    }
+
+    /**
+     * The JSON of each listed item by id, for callers that arrange the items themselves. Items the
+     * loader no longer finds are missing from the map.
+     */
+    public Map<Long, byte[]> find(Long managerId, List<Object[]> idVersions,
+                                  Function<List<Long>, List<VersionedItemDTO>> loader) {
+        byte[][] elements = fragments(fragments(managerId), idVersions, loader);
+        Map<Long, byte[]> byId = new HashMap<>();
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] != null) {
+                byId.put((Long) idVersions.get(i)[0], elements[i]);
+            }
+        }
+        return byId;
+    }
+
+    @EventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        fragmentsByManager.update(event.managerId(), fragments -> fragments.remove(event.itemId()));
+    }
+
+    /**
+     * The number of fragments held for the manager.
+     */
+    public int size(Long managerId) {
+        return fragmentsByManager.isLoaded(managerId) ? fragments(managerId).size() : 0;
+    }
+
+    private Map<Long, Fragment> fragments(Long managerId) {
+        return fragmentsByManager.get(managerId, id -> new ConcurrentHashMap<>());
+    }
+
+    private byte[][] fragments(Map<Long, Fragment> fragments, List<Object[]> idVersions,
+                               Function<List<Long>, List<VersionedItemDTO>> loader) {
+        byte[][] elements = new byte[idVersions.size()][];
+        Map<Long, Integer> missing = new LinkedHashMap<>();
+        for (int i = 0; i < elements.length; i++) {
+            Long id = (Long) idVersions.get(i)[0];
+            Fragment fragment = fragments.get(id);
+            if (fragment != null && fragment.version() == (Long) idVersions.get(i)[1]) {
+                elements[i] = fragment.json();
+            } else {
+                missing.put(id, i);
+            }
+        }
+        hits.increment(elements.length - missing.size());
+        misses.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            for (VersionedItemDTO item : loader.apply(new ArrayList<>(missing.keySet()))) {
+                Integer position = missing.get(item.getItem().getId());
+                if (position != null) {
+                    elements[position] = put(fragments, item);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private byte[] put(Map<Long, Fragment> fragments, VersionedItemDTO item) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(item.getItem());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        // A reader that saw an older version must not replace a newer fragment
+        fragments.merge(item.getItem().getId(), new Fragment(item.getVersion(), json),
+                (current, loaded) -> loaded.version() >= current.version() ? loaded : current);
+        return json;
+    }
+
+    record Fragment(long version, byte[] json) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventory.management.fragment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * A JSON array whose elements are already encoded. Writing it copies the element bytes to the
+ * output with separators between them; nothing is serialized per request.
+ */
+public class JsonFragments {
+
+    private final List<byte[]> elements;
+
+    public JsonFragments(List<byte[]> elements) {
+        this.elements = elements;
+    }
+
+    public List<byte[]> getElements() {
+        return elements;
+    }
+
+    public long getContentLength() {
+        long length = 2 + Math.max(0, elements.size() - 1);
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+        return length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(elements.get(i));
+        }
+        out.write(']');
+    }
+}
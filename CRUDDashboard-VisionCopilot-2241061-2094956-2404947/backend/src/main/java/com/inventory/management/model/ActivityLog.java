@@ -3,7 +3,9 @@ package com.inventory.management.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -15,11 +17,15 @@ import java.time.LocalDateTime;
 public class ActivityLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_log_seq")
+    @SequenceGenerator(name = "activity_log_seq", sequenceName = "activity_log_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
+    // Recent activity is listed per manager, never with the manager itself
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private StoreManager manager;
     
     @Column(nullable = false)
@@ -6,23 +6,37 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory_items")
+@Table(name = "inventory_items", uniqueConstraints =
+        @UniqueConstraint(name = InventoryItem.SKU_CONSTRAINT, columnNames = {"manager_id", "sku"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class InventoryItem {
     
+    public static final String SKU_CONSTRAINT = "uk_inventory_items_manager_sku";
+    
+    // Sequence ids, so inserts can be batched (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_items_seq")
+    @SequenceGenerator(name = "inventory_items_seq", sequenceName = "inventory_items_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
+    // Bumped on every update; keys the cached JSON of the item, see ItemFragmentCache
+    @Version
+    private Long version;
+    
+    // Lazy: reads never return manager data; ownership checks only need the foreign key
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private StoreManager manager;
     
     @NotBlank
@@ -45,6 +59,11 @@ public class InventoryItem {
     @Column(name = "image_url")
     private String imageUrl;
     
+    // Null falls back to the category default, see ReorderProperties
+    @Min(0)
+    @Column(name = "reorder_point")
+    private Integer reorderPoint;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
     
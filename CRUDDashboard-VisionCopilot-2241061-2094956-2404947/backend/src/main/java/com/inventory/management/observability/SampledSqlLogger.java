@@ -0,0 +1,60 @@
+package com.inventory.management.observability;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replacement for {@code spring.jpa.show-sql}: logs a random sample of statements with their
+ * timing from a background thread, so the request thread never waits on log output. When the
+ * queue is full, log lines are dropped instead of applying back-pressure.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.sql.logging.enabled", havingValue = "true")
+public class SampledSqlLogger implements QueryExecutionListener, DisposableBean {
+
+    private final double sampleRate;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1000), runnable -> {
+                Thread thread = new Thread(runnable, "sql-logger");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SampledSqlLogger(@Value("${inventory.sql.logging.sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long elapsedMs = execInfo.getElapsedTime();
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            executor.execute(() -> log.info("{} ms: {}", elapsedMs, sql));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
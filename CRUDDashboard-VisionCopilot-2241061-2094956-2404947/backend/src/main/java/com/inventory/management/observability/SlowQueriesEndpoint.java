@@ -0,0 +1,30 @@
+package com.inventory.management.observability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Admin endpoint exposing the slow-query journal.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private final SlowQueryJournal slowQueryJournal;
+
+    @ReadOperation
+    public List<SlowQueryJournal.SlowQuery> slowQueries() {
+        return slowQueryJournal.getSlowQueries();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryJournal.clear();
+    }
+}
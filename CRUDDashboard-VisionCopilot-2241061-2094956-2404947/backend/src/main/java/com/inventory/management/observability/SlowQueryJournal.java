@@ -0,0 +1,194 @@
+package com.inventory.management.observability;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement and keeps the ones slower than a threshold in a bounded journal,
+ * together with their bind parameters and the H2 {@code EXPLAIN} plan.
+ */
+@Slf4j
+@Component
+public class SlowQueryJournal implements QueryExecutionListener, DisposableBean {
+
+    // Statements issued while capturing a plan must not be journaled themselves
+    private static final ThreadLocal<Boolean> EXPLAINING = ThreadLocal.withInitial(() -> false);
+
+    private final ObjectFactory<DataSource> dataSourceProvider;
+    private final long thresholdMs;
+    private final int capacity;
+    private final boolean explainEnabled;
+
+    private final Deque<SlowQuery> entries = new ArrayDeque<>();
+    private final Map<String, String> planCache = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > 256;
+        }
+    });
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(100), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryJournal(ObjectFactory<DataSource> dataSourceProvider,
+                            @Value("${inventory.sql.slow-query.threshold-ms:100}") long thresholdMs,
+                            @Value("${inventory.sql.slow-query.capacity:100}") int capacity,
+                            @Value("${inventory.sql.slow-query.explain:true}") boolean explainEnabled) {
+        this.dataSourceProvider = dataSourceProvider;
+        this.thresholdMs = thresholdMs;
+        this.capacity = capacity;
+        this.explainEnabled = explainEnabled;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMs || EXPLAINING.get()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<Object> parameters = firstParameterSet(queryInfo);
+            SlowQuery slowQuery = new SlowQuery(Instant.now(), execInfo.getElapsedTime(), queryInfo.getQuery(),
+                    parameters, execInfo.isSuccess());
+            record(slowQuery);
+            if (explainEnabled) {
+                explainExecutor.execute(() -> slowQuery.plan = explain(queryInfo));
+            }
+        }
+    }
+
+    private synchronized void record(SlowQuery slowQuery) {
+        entries.addFirst(slowQuery);
+        while (entries.size() > capacity) {
+            entries.removeLast();
+        }
+    }
+
+    /**
+     * Returns the journaled statements, slowest first.
+     */
+    public synchronized List<SlowQuery> getSlowQueries() {
+        List<SlowQuery> result = new ArrayList<>(entries);
+        result.sort(Comparator.comparingLong(SlowQuery::getElapsedMs).reversed());
+        return result;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static List<Object> firstParameterSet(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return List.of();
+        }
+        List<ParameterSetOperation> operations = new ArrayList<>(queryInfo.getParametersList().get(0));
+        operations.sort(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]));
+        List<Object> values = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            values.add(isSetNull(operation) ? null : operation.getArgs()[1]);
+        }
+        return values;
+    }
+
+    private static boolean isSetNull(ParameterSetOperation operation) {
+        return "setNull".equals(operation.getMethod().getName());
+    }
+
+    private String explain(QueryInfo queryInfo) {
+        String sql = queryInfo.getQuery();
+        String keyword = sql.stripLeading().split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+        if (!List.of("select", "update", "delete", "insert", "merge").contains(keyword)) {
+            return null;
+        }
+        String cached = planCache.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        EXPLAINING.set(true);
+        try (Connection connection = dataSourceProvider.getObject().getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            if (!queryInfo.getParametersList().isEmpty()) {
+                for (ParameterSetOperation operation : queryInfo.getParametersList().get(0)) {
+                    int index = (Integer) operation.getArgs()[0];
+                    if (isSetNull(operation)) {
+                        statement.setNull(index, (Integer) operation.getArgs()[1]);
+                    } else {
+                        statement.setObject(index, operation.getArgs()[1]);
+                    }
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+            }
+            planCache.put(sql, plan.toString());
+            return plan.toString();
+        } catch (SQLException | RuntimeException ex) {
+            log.debug("Could not capture plan for slow query: {}", sql, ex);
+            return null;
+        } finally {
+            EXPLAINING.set(false);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    /**
+     * A statement that exceeded the threshold. The plan is filled in asynchronously.
+     */
+    @Getter
+    public static class SlowQuery {
+        private final Instant timestamp;
+        private final long elapsedMs;
+        private final String sql;
+        private final List<Object> parameters;
+        private final boolean success;
+        private volatile String plan;
+
+        SlowQuery(Instant timestamp, long elapsedMs, String sql, List<Object> parameters, boolean success) {
+            this.timestamp = timestamp;
+            this.elapsedMs = elapsedMs;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.success = success;
+        }
+    }
+}
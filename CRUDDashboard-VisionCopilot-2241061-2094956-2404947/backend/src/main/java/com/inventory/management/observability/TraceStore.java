@@ -0,0 +1,143 @@
+package com.inventory.management.observability;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory span exporter. Keeps the slowest completed traces so they can be
+ * inspected offline through the {@code traces} actuator endpoint.
+ */
+@Component
+public class TraceStore extends SpanHandler {
+
+    private final int capacity;
+    private final int maxInFlightTraces;
+
+    // Spans of traces whose local root has not finished yet, keyed by trace id
+    private final LinkedHashMap<String, List<RecordedSpan>> inFlight = new LinkedHashMap<>();
+
+    // Min-heap on duration so the fastest retained trace is evicted first
+    private final PriorityQueue<RecordedTrace> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(RecordedTrace::durationMicros));
+
+    public TraceStore(@Value("${inventory.tracing.slowest-capacity:20}") int capacity,
+                      @Value("${inventory.tracing.max-in-flight:1000}") int maxInFlightTraces) {
+        this.capacity = capacity;
+        this.maxInFlightTraces = maxInFlightTraces;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        RecordedSpan recorded = new RecordedSpan(
+                context.spanIdString(),
+                context.parentIdString(),
+                span.name(),
+                span.startTimestamp(),
+                span.finishTimestamp() - span.startTimestamp(),
+                new HashMap<>(span.tags()));
+
+        synchronized (this) {
+            List<RecordedSpan> spans = inFlight.computeIfAbsent(context.traceIdString(), id -> new ArrayList<>());
+            spans.add(recorded);
+            if (context.isLocalRoot()) {
+                inFlight.remove(context.traceIdString());
+                retain(new RecordedTrace(context.traceIdString(), recorded.name(),
+                        Instant.ofEpochMilli(recorded.startMicros() / 1000), recorded.durationMicros(), spans));
+            } else if (inFlight.size() > maxInFlightTraces) {
+                // Drop the oldest incomplete trace rather than growing without bound
+                Iterator<String> oldest = inFlight.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+        }
+        return true;
+    }
+
+    private void retain(RecordedTrace trace) {
+        if (slowest.size() < capacity) {
+            slowest.add(trace);
+        } else if (capacity > 0 && slowest.peek().durationMicros() < trace.durationMicros()) {
+            slowest.poll();
+            slowest.add(trace);
+        }
+    }
+
+    /**
+     * Returns the retained traces, slowest first, each as a span tree.
+     */
+    public synchronized List<TraceView> getSlowestTraces() {
+        List<RecordedTrace> traces = new ArrayList<>(slowest);
+        traces.sort(Comparator.comparingLong(RecordedTrace::durationMicros).reversed());
+        return traces.stream().map(RecordedTrace::toView).toList();
+    }
+
+    public synchronized void clear() {
+        inFlight.clear();
+        slowest.clear();
+    }
+
+    record RecordedSpan(String spanId, String parentId, String name, long startMicros, long durationMicros,
+                        Map<String, String> tags) {
+    }
+
+    record RecordedTrace(String traceId, String name, Instant startedAt, long durationMicros,
+                         List<RecordedSpan> spans) {
+
+        TraceView toView() {
+            Map<String, List<RecordedSpan>> childrenByParent = new HashMap<>();
+            RecordedSpan root = null;
+            for (RecordedSpan span : spans) {
+                if (span.parentId() == null || spans.stream().noneMatch(s -> s.spanId().equals(span.parentId()))) {
+                    if (root == null || span.durationMicros() > root.durationMicros()) {
+                        root = span;
+                    }
+                } else {
+                    childrenByParent.computeIfAbsent(span.parentId(), id -> new ArrayList<>()).add(span);
+                }
+            }
+            return new TraceView(traceId, name, startedAt, durationMicros / 1000.0, toNode(root, childrenByParent));
+        }
+
+        private static SpanNode toNode(RecordedSpan span, Map<String, List<RecordedSpan>> childrenByParent) {
+            List<SpanNode> children = childrenByParent.getOrDefault(span.spanId(), List.of()).stream()
+                    .sorted(Comparator.comparingLong(RecordedSpan::startMicros))
+                    .map(child -> toNode(child, childrenByParent))
+                    .toList();
+            long childMicros = childrenByParent.getOrDefault(span.spanId(), List.of()).stream()
+                    .mapToLong(RecordedSpan::durationMicros)
+                    .sum();
+            return new SpanNode(span.name(), span.durationMicros() / 1000.0,
+                    Math.max(0, span.durationMicros() - childMicros) / 1000.0, span.tags(), children);
+        }
+    }
+
+    /**
+     * A completed trace as returned by the actuator endpoint.
+     */
+    public record TraceView(String traceId, String name, Instant startedAt, double durationMs, SpanNode root) {
+    }
+
+    /**
+     * A span with its children. {@code selfMs} is the time not covered by child spans, e.g. DTO
+     * mapping inside a controller span or JSON serialization inside the HTTP server span.
+     */
+    public record SpanNode(String name, double durationMs, double selfMs, Map<String, String> tags,
+                           List<SpanNode> children) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventory.management.observability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Debug endpoint listing the slowest recent request traces with their span trees.
+ */
+@Component
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class TracesEndpoint {
+
+    private final TraceStore traceStore;
+
+    @ReadOperation
+    public List<TraceStore.TraceView> slowestTraces() {
+        return traceStore.getSlowestTraces();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        traceStore.clear();
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory.management.observability;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a child span for every controller, service and repository call so a request trace breaks
+ * down into layers. SQL statement spans are added by datasource-micrometer underneath.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("within(com.inventory.management.controller..*)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller");
+    }
+
+    // convertToDTO runs once per row; its cost shows up as self time of the calling span instead
+    @Around("within(com.inventory.management.service..*) && !execution(* convertToDTO(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service");
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            // Only break down work that belongs to a sampled request
+            return joinPoint.proceed();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String name = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+        Span span = tracer.nextSpan().name(name).tag("layer", layer).start();
+        Tracer.SpanInScope scope = tracer.withSpan(span);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            scope.close();
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.inventory.management.replication;
+
+/**
+ * The replication version the current thread has to see. Committing a write raises it to the
+ * version of that write, so later reads in the same request only go to replicas that have applied
+ * it. {@link ReadYourWritesFilter} resets it when the request ends.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> REQUIRED_VERSION = ThreadLocal.withInitial(() -> 0L);
+
+    private ReadYourWrites() {
+    }
+
+    public static long requiredVersion() {
+        return REQUIRED_VERSION.get();
+    }
+
+    public static void clear() {
+        REQUIRED_VERSION.remove();
+    }
+
+    static void require(long version) {
+        if (version > REQUIRED_VERSION.get()) {
+            REQUIRED_VERSION.set(version);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventory.management.replication;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read replicas of the primary database. With {@code count} above zero, read-only transactions are
+ * routed to replicas at {@code url-template} (formatted with the replica number), which are kept
+ * in sync by {@link Replicator}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.replicas")
+public class ReplicaProperties {
+
+    private int count = 0;
+
+    private String urlTemplate = "jdbc:h2:mem:inventorydb-replica-%d;DB_CLOSE_DELAY=-1";
+}
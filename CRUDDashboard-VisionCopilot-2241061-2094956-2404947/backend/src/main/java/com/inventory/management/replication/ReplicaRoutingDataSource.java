@@ -0,0 +1,37 @@
+package com.inventory.management.replication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to a replica that has caught up with the thread's
+ * own writes, and everything else to the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction is
+ * only marked read-only after it has asked for a connection, so the target has to be chosen when
+ * the first statement runs.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String ROUTED_METRIC = "inventory.datasource.routed";
+
+    private final Replicator replicator;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(Replicator replicator, MeterRegistry meterRegistry) {
+        this.replicator = replicator;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSources(replicator.getDataSources());
+        setDefaultTargetDataSource(replicator.getPrimary());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? replicator.route(ReadYourWrites.requiredVersion())
+                : Replicator.PRIMARY;
+        meterRegistry.counter(ROUTED_METRIC, "target", target).increment();
+        return target;
+    }
+}
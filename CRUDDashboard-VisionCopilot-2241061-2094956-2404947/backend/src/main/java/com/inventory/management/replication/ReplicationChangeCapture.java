@@ -0,0 +1,73 @@
+package com.inventory.management.replication;
+
+import com.inventory.management.event.BulkUpdateEvent;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Hibernate listener that hands every committed entity insert, update and delete to the
+ * {@link Replicator} and makes the committing thread read its own write. Rows changed by bulk
+ * statements arrive as {@link BulkUpdateEvent}s instead.
+ */
+public class ReplicationChangeCapture implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final Replicator replicator;
+
+    public ReplicationChangeCapture(Replicator replicator) {
+        this.replicator = replicator;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @TransactionalEventListener
+    public void onBulkUpdate(BulkUpdateEvent event) {
+        record(event.table(), event.idColumn(), event.id());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void record(EntityPersister persister, Object id) {
+        AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+        record(entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0], id);
+    }
+
+    private void record(String table, String idColumn, Object id) {
+        ReadYourWrites.require(replicator.record(table, idColumn, id));
+    }
+}
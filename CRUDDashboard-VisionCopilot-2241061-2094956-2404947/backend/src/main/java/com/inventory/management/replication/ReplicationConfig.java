@@ -0,0 +1,79 @@
+package com.inventory.management.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the application DataSource with one that routes read-only transactions to local read
+ * replicas. Only active when {@code inventory.replicas.count} is above zero.
+ *
+ * <p>The primary and replica pools are not beans of their own, so the SQL observation proxy wraps
+ * only the routing DataSource and every statement is observed once.
+ */
+@Configuration
+@ConditionalOnExpression("${inventory.replicas.count:0} > 0")
+public class ReplicationConfig {
+
+    @Bean
+    public Replicator replicator(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties,
+                                 MeterRegistry meterRegistry) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int replica = 1; replica <= replicaProperties.getCount(); replica++) {
+            replicas.put("replica-" + replica, DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(String.format(replicaProperties.getUrlTemplate(), replica))
+                    .username(dataSourceProperties.getUsername())
+                    .password(dataSourceProperties.getPassword())
+                    .build());
+        }
+        return new Replicator(primary, replicas, meterRegistry);
+    }
+
+    // Decorated by the SQL observation proxy like any DataSource bean
+    @Bean
+    public DataSource replicaRoutingDataSource(Replicator replicator, MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(replicator, meterRegistry);
+    }
+
+    // Excluded from decoration (jdbc.excluded-data-source-bean-names): the observation proxy reads the
+    // URL of every new connection, which would pick the target before the transaction is read-only
+    @Bean
+    @Primary
+    public DataSource replicaAwareDataSource(@Qualifier("replicaRoutingDataSource") DataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicationChangeCapture replicationChangeCapture(EntityManagerFactory entityManagerFactory,
+                                                             Replicator replicator) {
+        ReplicationChangeCapture capture = new ReplicationChangeCapture(replicator);
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, capture);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, capture);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, capture);
+        return capture;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+}
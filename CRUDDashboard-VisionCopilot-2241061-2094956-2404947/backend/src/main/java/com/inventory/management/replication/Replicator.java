@@ -0,0 +1,304 @@
+package com.inventory.management.replication;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps local read replicas in step with the primary database. Every committed row change gets the
+ * next replication version and is queued as (table, id); a single shipper thread drains the queue,
+ * reads the current image of each changed row from the primary once and upserts or deletes it on
+ * every replica. Applying current row images is idempotent, so repeated and coalesced changes are
+ * harmless.
+ *
+ * <p>Each replica records the version it has applied. A replica is seeded from a {@code SCRIPT} dump
+ * of the primary when the application is ready and is only routed to from then on; a replica that
+ * fails to apply a batch is seeded again. Replicas do not check foreign keys, since the primary
+ * already has and changes may be applied in a different order than their transactions committed.
+ */
+@Slf4j
+public class Replicator implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+    public static final String LAG_METRIC = "inventory.replication.lag";
+
+    private static final int MAX_BATCH = 1000;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicLong version = new AtomicLong();
+    private final BlockingQueue<Change> changes = new LinkedBlockingQueue<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Thread shipper = new Thread(this::ship, "replication-shipper");
+    private final Object appliedMonitor = new Object();
+    private volatile boolean running = true;
+
+    public Replicator(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        for (Replica replica : this.replicas) {
+            Gauge.builder(LAG_METRIC, replica, this::lag)
+                    .tag("replica", replica.name)
+                    .description("Committed changes not yet applied to the replica")
+                    .register(meterRegistry);
+        }
+        shipper.setDaemon(true);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public Map<Object, Object> getDataSources() {
+        Map<Object, Object> dataSources = new LinkedHashMap<>();
+        dataSources.put(PRIMARY, primary);
+        replicas.forEach(replica -> dataSources.put(replica.name, replica.dataSource));
+        return dataSources;
+    }
+
+    /**
+     * Queues a committed change to a row and returns its replication version.
+     */
+    public long record(String table, String idColumn, Object id) {
+        long changeVersion = version.incrementAndGet();
+        changes.add(new Change(changeVersion, table, idColumn, id));
+        return changeVersion;
+    }
+
+    /**
+     * A replica that has applied at least {@code requiredVersion}, picked round-robin, or the primary
+     * when none has.
+     */
+    public String route(long requiredVersion) {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            long applied = replica.appliedVersion;
+            if (applied >= 0 && applied >= requiredVersion) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    private long lag(Replica replica) {
+        long applied = replica.appliedVersion;
+        return applied < 0 ? version.get() : version.get() - applied;
+    }
+
+    /**
+     * Waits until every replica has applied all changes recorded so far.
+     */
+    public boolean awaitCaughtUp(Duration timeout) throws InterruptedException {
+        long target = version.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (appliedMonitor) {
+            while (replicas.stream().anyMatch(replica -> replica.appliedVersion < target)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(appliedMonitor, remaining);
+            }
+        }
+        return true;
+    }
+
+    // Runs after DataLoader, so replicas start with the seeded catalog
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        replicas.forEach(this::seed);
+        shipper.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        shipper.interrupt();
+        shipper.join(TimeUnit.SECONDS.toMillis(5));
+        for (Object dataSource : getDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close replication data source", e);
+                }
+            }
+        }
+    }
+
+    private void ship() {
+        while (running) {
+            try {
+                Change first = changes.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Change> batch = new ArrayList<>();
+                batch.add(first);
+                changes.drainTo(batch, MAX_BATCH - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void apply(List<Change> batch) {
+        // Latest change per row, in the order of those latest changes
+        Map<List<Object>, Change> latest = new LinkedHashMap<>();
+        for (Change change : batch) {
+            List<Object> key = List.of(change.table(), change.id());
+            latest.remove(key);
+            latest.put(key, change);
+        }
+        long batchVersion = batch.stream().mapToLong(Change::version).max().orElseThrow();
+
+        Map<Change, Optional<Map<String, Object>>> images = new LinkedHashMap<>();
+        try (Connection connection = primary.getConnection()) {
+            for (Change change : latest.values()) {
+                images.put(change, readRow(connection, change));
+            }
+        } catch (SQLException e) {
+            // The changes are lost for every replica, so all of them are rebuilt from the primary
+            log.warn("Could not read changed rows from the primary, reseeding replicas", e);
+            replicas.forEach(this::seed);
+            return;
+        }
+
+        for (Replica replica : replicas) {
+            if (replica.appliedVersion >= batchVersion) {
+                continue;
+            }
+            try (Connection connection = replica.dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                for (Map.Entry<Change, Optional<Map<String, Object>>> image : images.entrySet()) {
+                    writeRow(connection, image.getKey(), image.getValue());
+                }
+                connection.commit();
+                markApplied(replica, batchVersion);
+            } catch (SQLException e) {
+                log.warn("Could not apply changes to replica {}, reseeding it", replica.name, e);
+                seed(replica);
+            }
+        }
+    }
+
+    private void seed(Replica replica) {
+        replica.appliedVersion = -1;
+        // Changes recorded after this point may or may not be in the dump; they are re-applied either way
+        long seededVersion = version.get();
+        long start = System.nanoTime();
+        try (Connection source = primary.getConnection();
+             Connection target = replica.dataSource.getConnection();
+             Statement dump = source.createStatement();
+             Statement load = target.createStatement()) {
+            target.setAutoCommit(false);
+            load.execute("DROP ALL OBJECTS");
+            load.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            try (ResultSet script = dump.executeQuery("SCRIPT")) {
+                while (script.next()) {
+                    String sql = script.getString(1);
+                    if (!sql.stripLeading().startsWith("--")) {
+                        load.execute(sql);
+                    }
+                }
+            }
+            target.commit();
+            markApplied(replica, seededVersion);
+            log.info("Replica {} seeded at version {} in {} ms", replica.name, seededVersion,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException e) {
+            log.error("Could not seed replica {}, reads stay on the primary", replica.name, e);
+        }
+    }
+
+    private void markApplied(Replica replica, long appliedVersion) {
+        synchronized (appliedMonitor) {
+            replica.appliedVersion = Math.max(replica.appliedVersion, appliedVersion);
+            appliedMonitor.notifyAll();
+        }
+    }
+
+    private static Optional<Map<String, Object>> readRow(Connection connection, Change change) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT * FROM " + change.table() + " WHERE " + change.idColumn() + " = ?")) {
+            statement.setObject(1, change.id());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    row.put(metaData.getColumnName(column), resultSet.getObject(column));
+                }
+                return Optional.of(row);
+            }
+        }
+    }
+
+    private static void writeRow(Connection connection, Change change, Optional<Map<String, Object>> row)
+            throws SQLException {
+        if (row.isEmpty()) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM " + change.table() + " WHERE " + change.idColumn() + " = ?")) {
+                statement.setObject(1, change.id());
+                statement.executeUpdate();
+            }
+            return;
+        }
+        Map<String, Object> values = row.get();
+        String columns = values.keySet().stream().map(column -> "\"" + column + "\"").collect(Collectors.joining(", "));
+        String parameters = values.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+        try (PreparedStatement statement = connection.prepareStatement("MERGE INTO " + change.table()
+                + " (" + columns + ") KEY (" + change.idColumn() + ") VALUES (" + parameters + ")")) {
+            int index = 1;
+            for (Object value : values.values()) {
+                statement.setObject(index++, value);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private record Change(long version, String table, String idColumn, Object id) {
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long appliedVersion = -1;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -2,11 +2,15 @@ package com.inventory.management.repository;
 
 import com.inventory.management.model.ActivityLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
-    List<ActivityLog> findTop10ByManagerIdOrderByTimestampDesc(Long managerId);
+    // Newest first within one manager, which the (manager_id, timestamp) index serves directly
+    @Query("SELECT a FROM ActivityLog a WHERE a.manager.id = :managerId ORDER BY a.timestamp DESC LIMIT 10")
+    List<ActivityLog> findTop10ByManagerIdOrderByTimestampDesc(@Param("managerId") Long managerId);
 }
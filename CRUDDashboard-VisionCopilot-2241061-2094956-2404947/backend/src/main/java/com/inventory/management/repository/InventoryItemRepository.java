@@ -1,19 +1,31 @@
 package com.inventory.management.repository;
 
+import com.inventory.management.dto.CategoryStatsDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.VersionedItemDTO;
 import com.inventory.management.model.InventoryItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
-    List<InventoryItem> findByManagerId(Long managerId);
+public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long>, InventoryItemRepositoryCustom {
     
-    @Query("SELECT i FROM InventoryItem i WHERE i.quantity < 10 AND i.quantity > 0 AND i.manager.id = :managerId")
-    List<InventoryItem> findLowStockItems(@Param("managerId") Long managerId);
+    // Read-only projection: rows go straight into DTOs without managed entities or dirty-check snapshots
+    String ITEM_DTO = "new com.inventory.management.dto.InventoryItemDTO("
+            + "i.id, i.name, i.sku, i.category, i.price, i.quantity, i.imageUrl, i.reorderPoint)";
+    
+    String VERSIONED_ITEM_DTO = "new com.inventory.management.dto.VersionedItemDTO(i.version, "
+            + "i.id, i.name, i.sku, i.category, i.price, i.quantity, i.imageUrl, i.reorderPoint)";
+    
+    // Explicit query so the manager filter uses the foreign key instead of joining store_managers
+    @Query("SELECT i FROM InventoryItem i WHERE i.manager.id = :managerId")
+    List<InventoryItem> findByManagerId(@Param("managerId") Long managerId);
     
     @Query("SELECT i FROM InventoryItem i WHERE i.quantity = 0 AND i.manager.id = :managerId")
     List<InventoryItem> findOutOfStockItems(@Param("managerId") Long managerId);
@@ -24,4 +36,52 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
            "LOWER(i.category) LIKE LOWER(CONCAT('%', :query, '%'))) " +
            "AND i.manager.id = :managerId")
     List<InventoryItem> searchItems(String query, Long managerId);
+    
+    @Query("SELECT " + ITEM_DTO + " FROM InventoryItem i WHERE i.manager.id = :managerId")
+    List<InventoryItemDTO> findItemDTOsByManagerId(@Param("managerId") Long managerId);
+    
+    @Query("SELECT " + ITEM_DTO + " FROM InventoryItem i WHERE i.id = :id AND i.manager.id = :managerId")
+    Optional<InventoryItemDTO> findItemDTOById(@Param("id") Long id, @Param("managerId") Long managerId);
+    
+    @Query("SELECT i.sku, i.id FROM InventoryItem i WHERE i.manager.id = :managerId")
+    List<Object[]> findSkuIdPairsByManagerId(@Param("managerId") Long managerId);
+    
+    // Enough to tell which cached item JSON is still current
+    @Query("SELECT i.id, i.version FROM InventoryItem i WHERE i.manager.id = :managerId")
+    List<Object[]> findIdVersionPairsByManagerId(@Param("managerId") Long managerId);
+    
+    @Query("SELECT i.id, i.version FROM InventoryItem i WHERE i.id IN :ids AND i.manager.id = :managerId")
+    List<Object[]> findIdVersionPairsByIds(@Param("ids") Collection<Long> ids, @Param("managerId") Long managerId);
+    
+    @Query("SELECT " + VERSIONED_ITEM_DTO + " FROM InventoryItem i WHERE i.manager.id = :managerId")
+    List<VersionedItemDTO> findVersionedItemDTOsByManagerId(@Param("managerId") Long managerId);
+    
+    @Query("SELECT " + VERSIONED_ITEM_DTO + " FROM InventoryItem i WHERE i.id IN :ids AND i.manager.id = :managerId")
+    List<VersionedItemDTO> findVersionedItemDTOsByIds(@Param("ids") Collection<Long> ids,
+                                                      @Param("managerId") Long managerId);
+    
+    @Query("SELECT " + ITEM_DTO + " FROM InventoryItem i WHERE i.quantity = 0 AND i.manager.id = :managerId")
+    List<InventoryItemDTO> findOutOfStockItemDTOs(@Param("managerId") Long managerId);
+    
+    @Query("SELECT " + ITEM_DTO + " FROM InventoryItem i WHERE " +
+           "(LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(i.sku) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(i.category) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+           "AND i.manager.id = :managerId")
+    List<InventoryItemDTO> searchItemDTOs(@Param("query") String query, @Param("managerId") Long managerId);
+    
+    @Query("SELECT COUNT(i) FROM InventoryItem i WHERE i.quantity = 0 AND i.manager.id = :managerId")
+    long countOutOfStockItems(@Param("managerId") Long managerId);
+    
+    // Prefilter for the reorder index: no threshold can exceed the largest configured default
+    // unless the item sets its own reorder point
+    @Query("SELECT " + ITEM_DTO + " FROM InventoryItem i WHERE i.manager.id = :managerId "
+           + "AND i.quantity < COALESCE(i.reorderPoint, :maxDefaultPoint)")
+    List<InventoryItemDTO> findReorderCandidateDTOs(@Param("managerId") Long managerId,
+                                                    @Param("maxDefaultPoint") int maxDefaultPoint);
+    
+    @Query("SELECT new com.inventory.management.dto.CategoryStatsDTO("
+           + "i.category, COUNT(i), SUM(i.quantity), SUM(i.price * i.quantity)) "
+           + "FROM InventoryItem i WHERE i.manager.id = :managerId GROUP BY i.category ORDER BY i.category")
+    List<CategoryStatsDTO> findCategoryStats(@Param("managerId") Long managerId);
 }
@@ -0,0 +1,35 @@
+package com.inventory.management.repository;
+
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.model.InventoryItem;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queries whose select or set list depends on the request, so they cannot be declared with
+ * {@code @Query}.
+ */
+public interface InventoryItemRepositoryCustom {
+    
+    List<Map<String, Object>> findItemFieldsByManagerId(Long managerId, ItemProjection projection);
+    
+    List<Map<String, Object>> searchItemFields(String query, Long managerId, ItemProjection projection);
+    
+    /**
+     * Items in stock but below their reorder point: the item's own, else {@code categoryPoints}
+     * for its category, else {@code defaultPoint}.
+     */
+    List<InventoryItemDTO> findLowStockItemDTOs(Long managerId, Map<String, Integer> categoryPoints, int defaultPoint);
+    
+    long countLowStockItems(Long managerId, Map<String, Integer> categoryPoints, int defaultPoint);
+    
+    /**
+     * Writes only {@code changes} (attribute name to new value) to the item's row, with the next
+     * version, and detaches {@code item} updated to match. The other columns are left as they are.
+     *
+     * @throws ObjectOptimisticLockingFailureException if the row was changed since the item was read
+     */
+    void updateFields(InventoryItem item, Map<String, Object> changes);
+}
@@ -0,0 +1,119 @@
+package com.inventory.management.repository;
+
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.event.BulkUpdateEvent;
+import com.inventory.management.model.InventoryItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects only the projected columns; Hibernate caches the plan of each distinct query string.
+ */
+public class InventoryItemRepositoryImpl implements InventoryItemRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    public List<Map<String, Object>> findItemFieldsByManagerId(Long managerId, ItemProjection projection) {
+        return entityManager.createQuery("SELECT " + projection.getSelectList()
+                        + " FROM InventoryItem i WHERE i.manager.id = :managerId", Object[].class)
+                .setParameter("managerId", managerId)
+                .getResultStream()
+                .map(projection::toMap)
+                .toList();
+    }
+    
+    @Override
+    public List<Map<String, Object>> searchItemFields(String query, Long managerId, ItemProjection projection) {
+        return entityManager.createQuery("SELECT " + projection.getSelectList() + " FROM InventoryItem i WHERE "
+                        + "(LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) OR "
+                        + "LOWER(i.sku) LIKE LOWER(CONCAT('%', :query, '%')) OR "
+                        + "LOWER(i.category) LIKE LOWER(CONCAT('%', :query, '%'))) "
+                        + "AND i.manager.id = :managerId", Object[].class)
+                .setParameter("query", query)
+                .setParameter("managerId", managerId)
+                .getResultStream()
+                .map(projection::toMap)
+                .toList();
+    }
+    
+    @Override
+    public List<InventoryItemDTO> findLowStockItemDTOs(Long managerId, Map<String, Integer> categoryPoints,
+                                                       int defaultPoint) {
+        return lowStockQuery("SELECT " + InventoryItemRepository.ITEM_DTO, InventoryItemDTO.class, managerId,
+                categoryPoints, defaultPoint).getResultList();
+    }
+    
+    @Override
+    public long countLowStockItems(Long managerId, Map<String, Integer> categoryPoints, int defaultPoint) {
+        return lowStockQuery("SELECT COUNT(i)", Long.class, managerId, categoryPoints, defaultPoint).getSingleResult();
+    }
+    
+    // The category defaults are bound as parameters, so the query string only changes with their number
+    private <R> TypedQuery<R> lowStockQuery(String select, Class<R> resultType, Long managerId,
+                                            Map<String, Integer> categoryPoints, int defaultPoint) {
+        StringBuilder reorderPoint = new StringBuilder("COALESCE(i.reorderPoint, ");
+        if (categoryPoints.isEmpty()) {
+            reorderPoint.append(":defaultPoint)");
+        } else {
+            reorderPoint.append("CASE i.category");
+            for (int i = 0; i < categoryPoints.size(); i++) {
+                reorderPoint.append(" WHEN :category").append(i).append(" THEN :point").append(i);
+            }
+            reorderPoint.append(" ELSE :defaultPoint END)");
+        }
+        TypedQuery<R> query = entityManager.createQuery(select + " FROM InventoryItem i WHERE i.manager.id = :managerId"
+                        + " AND i.quantity > 0 AND i.quantity < " + reorderPoint, resultType)
+                .setParameter("managerId", managerId)
+                .setParameter("defaultPoint", defaultPoint);
+        int i = 0;
+        for (Map.Entry<String, Integer> categoryPoint : categoryPoints.entrySet()) {
+            query.setParameter("category" + i, categoryPoint.getKey());
+            query.setParameter("point" + i, categoryPoint.getValue());
+            i++;
+        }
+        return query;
+    }
+    
+    // A dirty-checked update lists every column unless the entity is @DynamicUpdate, which would
+    // keep Hibernate from batching the updates of /api/batch
+    @Override
+    public void updateFields(InventoryItem item, Map<String, Object> changes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<InventoryItem> update = builder.createCriteriaUpdate(InventoryItem.class);
+        Root<InventoryItem> root = update.from(InventoryItem.class);
+        changes.forEach(update::set);
+        LocalDateTime now = LocalDateTime.now();
+        Path<Long> version = root.get("version");
+        update.set(root.<LocalDateTime>get("updatedAt"), now);
+        update.set(version, builder.sum(version, 1L));
+        update.where(builder.equal(root.get("id"), item.getId()), builder.equal(version, item.getVersion()));
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            throw new ObjectOptimisticLockingFailureException(InventoryItem.class, item.getId());
+        }
+        eventPublisher.publishEvent(new BulkUpdateEvent("inventory_items", "id", item.getId()));
+        
+        // Detached, so the persistence context does not write the new values a second time
+        entityManager.detach(item);
+        PropertyAccessorFactory.forBeanPropertyAccess(item).setPropertyValues(changes);
+        item.setVersion(item.getVersion() + 1);
+        item.setUpdatedAt(now);
+    }
+}
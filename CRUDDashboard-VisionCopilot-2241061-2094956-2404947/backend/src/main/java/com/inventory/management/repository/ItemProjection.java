@@ -0,0 +1,71 @@
+package com.inventory.management.repository;
+
+import com.inventory.management.exception.InvalidFieldsException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A subset of the item fields together with the JPQL select list that reads only their columns.
+ * Projections are cached by field set, so each combination is validated and built once and the
+ * order in which fields are requested does not matter. Fields are always returned in
+ * {@link #FIELDS} order.
+ */
+public final class ItemProjection {
+
+    public static final List<String> FIELDS = List.of(
+            "id", "name", "sku", "category", "price", "quantity", "imageUrl", "reorderPoint");
+
+    // At most one entry per subset of FIELDS, since unknown fields are rejected before caching
+    private static final Map<Set<String>, ItemProjection> CACHE = new ConcurrentHashMap<>();
+
+    private final List<String> fields;
+    private final String selectList;
+
+    private ItemProjection(List<String> fields) {
+        this.fields = fields;
+        this.selectList = fields.stream().map(field -> "i." + field).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * @throws InvalidFieldsException if no field or an unknown field is requested
+     */
+    public static ItemProjection of(Collection<String> requested) {
+        Set<String> key = Set.copyOf(requested);
+        ItemProjection projection = CACHE.get(key);
+        if (projection != null) {
+            return projection;
+        }
+        if (key.isEmpty()) {
+            throw new InvalidFieldsException("At least one field must be selected");
+        }
+        for (String field : key) {
+            if (!FIELDS.contains(field)) {
+                throw new InvalidFieldsException("Unknown field '" + field + "', expected any of " + FIELDS);
+            }
+        }
+        return CACHE.computeIfAbsent(key,
+                fieldSet -> new ItemProjection(FIELDS.stream().filter(fieldSet::contains).toList()));
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public String getSelectList() {
+        return selectList;
+    }
+
+    public Map<String, Object> toMap(Object[] row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int column = 0; column < fields.size(); column++) {
+            values.put(fields.get(column), row[column]);
+        }
+        return values;
+    }
+}
@@ -3,6 +3,7 @@ package com.inventory.management.service;
 import com.inventory.management.dto.ActivityLogDTO;
 import com.inventory.management.model.ActivityLog;
 import com.inventory.management.repository.ActivityLogRepository;
+import com.inventory.management.tenant.ManagerDirectory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,13 +16,12 @@ import java.util.stream.Collectors;
 public class ActivityLogService {
     
     private final ActivityLogRepository activityLogRepository;
-    
-    // For demo purposes, we'll use a default manager
-    private static final Long DEFAULT_MANAGER_ID = 1L;
+    private final ManagerDirectory managerDirectory;
     
     @Transactional(readOnly = true)
     public List<ActivityLogDTO> getRecentActivities() {
-        List<ActivityLog> logs = activityLogRepository.findTop10ByManagerIdOrderByTimestampDesc(DEFAULT_MANAGER_ID);
+        List<ActivityLog> logs = activityLogRepository.findTop10ByManagerIdOrderByTimestampDesc(
+                managerDirectory.currentManagerId());
         return logs.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -0,0 +1,51 @@
+package com.inventory.management.service;
+
+import com.inventory.management.dto.CategoryStatsDTO;
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.tenant.ManagerDirectory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+    
+    static final String CATEGORY_STATS_CACHE = "categoryStats";
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final CacheManager cacheManager;
+    private final ManagerDirectory managerDirectory;
+    
+    // Read-write, so the cached result comes from the primary; a replica that has not caught up
+    // would be cached until the manager's next write
+    @Transactional
+    @Cacheable(cacheNames = CATEGORY_STATS_CACHE, key = "@managerDirectory.currentManagerId()")
+    public List<CategoryStatsDTO> getCategoryStats() {
+        return inventoryItemRepository.findCategoryStats(managerDirectory.currentManagerId());
+    }
+    
+    // Any item write can change counts, units or value of its category; other managers keep their entries
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CATEGORY_STATS_CACHE, key = "#event.managerId()")
+    public void onItemChanged(InventoryItemChangedEvent event) {
+    }
+    
+    @EventListener
+    public void onCachesInvalidated(CachesInvalidatedEvent event) {
+        Cache cache = cacheManager.getCache(CATEGORY_STATS_CACHE);
+        if (cache != null) {
+            event.managerIds().forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.inventory.management.service;
+
+import com.inventory.management.dto.BatchOperationDTO;
+import com.inventory.management.dto.BatchResponseDTO;
+import com.inventory.management.dto.BatchResultDTO;
+import com.inventory.management.model.InventoryItem;
+import com.inventory.management.repository.InventoryItemRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Runs a list of item writes in one request. Each operation goes through InventoryService exactly
+ * as its single-item endpoint does, and gets the status that endpoint would have returned.
+ *
+ * <p>An atomic batch shares one transaction: the items it touches are loaded in one query up
+ * front, and Hibernate sends the inserts, updates and deletes at commit as JDBC batches. The first
+ * failing operation rolls the whole batch back.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchService {
+    
+    public static final int MAX_OPERATIONS = 500;
+    
+    private final InventoryService inventoryService;
+    private final InventoryItemRepository inventoryItemRepository;
+    
+    /**
+     * Runs the operations in one transaction. If one fails, nothing is committed: that operation
+     * reports its failure and every other one reports 424 Failed Dependency.
+     */
+    @Transactional
+    @Timed(InventoryService.SERVICE_TIMER)
+    public BatchResponseDTO executeAtomically(List<BatchOperationDTO> operations) {
+        // Managed from here on, so the per-operation lookups are served from the persistence context
+        inventoryItemRepository.findAllById(operations.stream()
+                .map(BatchOperationDTO::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+        
+        List<BatchResultDTO> results = new ArrayList<>(operations.size());
+        for (BatchOperationDTO operation : operations) {
+            BatchResultDTO result = execute(operation);
+            if (isFailure(result)) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                List<BatchResultDTO> rolledBack = new ArrayList<>(Collections.nCopies(operations.size(),
+                        new BatchResultDTO(HttpStatus.FAILED_DEPENDENCY.value(), null, null)));
+                rolledBack.set(results.size(), result);
+                return new BatchResponseDTO(false, rolledBack);
+            }
+            results.add(result);
+        }
+        return new BatchResponseDTO(true, results);
+    }
+    
+    /**
+     * Runs every operation in its own transaction, so a failure only affects that operation.
+     */
+    @Timed(InventoryService.SERVICE_TIMER)
+    public BatchResponseDTO executeIndividually(List<BatchOperationDTO> operations) {
+        return new BatchResponseDTO(true, operations.stream().map(this::execute).toList());
+    }
+    
+    private BatchResultDTO execute(BatchOperationDTO operation) {
+        if (operation == null || operation.getType() == null) {
+            return failure(HttpStatus.BAD_REQUEST, "Operation type is required");
+        }
+        try {
+            return switch (operation.getType()) {
+                case CREATE -> operation.getItem() == null
+                        ? failure(HttpStatus.BAD_REQUEST, "CREATE requires an item")
+                        : success(HttpStatus.CREATED, inventoryService.createItem(operation.getItem()));
+                case UPDATE -> operation.getId() == null || operation.getItem() == null
+                        ? failure(HttpStatus.BAD_REQUEST, "UPDATE requires an id and an item")
+                        : inventoryService.updateItem(operation.getId(), operation.getItem())
+                                .map(item -> success(HttpStatus.OK, item))
+                                .orElseGet(() -> notFound(operation.getId()));
+                case DELETE -> operation.getId() == null
+                        ? failure(HttpStatus.BAD_REQUEST, "DELETE requires an id")
+                        : inventoryService.deleteItem(operation.getId())
+                                ? new BatchResultDTO(HttpStatus.NO_CONTENT.value(), null, null)
+                                : notFound(operation.getId());
+            };
+        } catch (ConstraintViolationException e) {
+            return failure(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            return failure(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+            if (status == null) {
+                throw e;
+            }
+            return failure(status.code(), e.getMessage());
+        }
+    }
+    
+    private BatchResultDTO success(HttpStatus status, InventoryItem item) {
+        return new BatchResultDTO(status.value(), inventoryService.convertToDTO(item), null);
+    }
+    
+    private static BatchResultDTO notFound(Long id) {
+        return failure(HttpStatus.NOT_FOUND, "No item with id " + id);
+    }
+    
+    private static BatchResultDTO failure(HttpStatus status, String error) {
+        return new BatchResultDTO(status.value(), null, error);
+    }
+    
+    private static boolean isFailure(BatchResultDTO result) {
+        return result.getStatus() >= 400;
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventory.management.service;
+
+import com.inventory.management.analytics.DistributionSketch;
+import com.inventory.management.dto.DistributionDTO;
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.tenant.ManagerDirectory;
+import com.inventory.management.tenant.TenantRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Quantity and price distributions from per-manager streaming sketches. A sketch is built from the
+ * database on first use, then updated from item change events; it is only rebuilt once removals
+ * have made the distinct-category estimate stale.
+ */
+@Service
+@RequiredArgsConstructor
+public class DistributionService {
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TenantRegistry<DistributionSketch> sketches;
+    private final ManagerDirectory managerDirectory;
+    
+    public DistributionDTO getDistribution() {
+        Long managerId = managerDirectory.currentManagerId();
+        DistributionSketch sketch = sketches.get(managerId, this::build);
+        if (sketch.needsRebuild()) {
+            sketch = sketches.rebuild(managerId, sketch, this::build);
+        }
+        return sketch.summarize();
+    }
+    
+    // Sketches cannot tell whether they already hold an item, so the registry applies each
+    // committed change exactly once
+    @EventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        sketches.update(event.managerId(), sketch -> {
+            if (event.isCreated()) {
+                sketch.add(event.current());
+            } else if (event.isDeleted()) {
+                sketch.remove(event.previous());
+            } else {
+                sketch.replace(event.previous(), event.current());
+            }
+        });
+    }
+    
+    // Written by another node; the sketch is rebuilt on next use
+    @EventListener
+    public void onCachesInvalidated(CachesInvalidatedEvent event) {
+        sketches.evict(event.managerIds());
+    }
+    
+    private DistributionSketch build(Long managerId) {
+        DistributionSketch sketch = new DistributionSketch();
+        sketch.load(() -> inventoryItemRepository.findItemDTOsByManagerId(managerId));
+        return sketch;
+    }
+}
@@ -0,0 +1,72 @@
+package com.inventory.management.service;
+
+import com.inventory.management.analytics.FacetIndex;
+import com.inventory.management.analytics.StockStatus;
+import com.inventory.management.dto.FacetedSearchDTO;
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.tenant.ManagerDirectory;
+import com.inventory.management.tenant.TenantRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Faceted filtering over per-manager bitmap indexes. An index is built from the database on first
+ * use and maintained from item change events afterwards. Low stock means below the item's
+ * reorder point, as resolved by {@link ReorderService}.
+ */
+@Service
+public class FacetService {
+    
+    public static final int MAX_LIMIT = 500;
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ReorderService reorderService;
+    private final double[] priceBandEdges;
+    private final TenantRegistry<FacetIndex> indexes;
+    private final ManagerDirectory managerDirectory;
+    
+    public FacetService(InventoryItemRepository inventoryItemRepository,
+                        ReorderService reorderService,
+                        @Value("${inventory.facets.price-band-edges:25,50,100,250,500}") double[] priceBandEdges,
+                        TenantRegistry<FacetIndex> indexes,
+                        ManagerDirectory managerDirectory) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.reorderService = reorderService;
+        this.priceBandEdges = priceBandEdges;
+        this.indexes = indexes;
+        this.managerDirectory = managerDirectory;
+    }
+    
+    public FacetedSearchDTO search(Set<String> categories, Set<StockStatus> statuses, Set<String> priceBands,
+                                   int offset, int limit) {
+        return indexes.get(managerDirectory.currentManagerId(), this::build).search(categories, statuses, priceBands, offset, limit);
+    }
+    
+    @EventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        indexes.update(event.managerId(), index -> {
+            if (event.isDeleted()) {
+                index.remove(event.itemId());
+            } else {
+                index.upsert(event.current());
+            }
+        });
+    }
+    
+    // Written by another node; the bitmaps are rebuilt on next use
+    @EventListener
+    public void onCachesInvalidated(CachesInvalidatedEvent event) {
+        indexes.evict(event.managerIds());
+    }
+    
+    private FacetIndex build(Long managerId) {
+        FacetIndex index = new FacetIndex(priceBandEdges, reorderService::reorderPointOf);
+        index.load(() -> inventoryItemRepository.findItemDTOsByManagerId(managerId));
+        return index;
+    }
+}
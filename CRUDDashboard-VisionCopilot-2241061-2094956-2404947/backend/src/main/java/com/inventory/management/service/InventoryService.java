@@ -1,60 +1,178 @@
 package com.inventory.management.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.management.config.ReorderProperties;
 import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.VersionedItemDTO;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.exception.InvalidFieldsException;
+import com.inventory.management.fragment.ItemFragmentCache;
+import com.inventory.management.fragment.JsonFragments;
 import com.inventory.management.model.ActivityLog;
 import com.inventory.management.model.InventoryItem;
 import com.inventory.management.model.StoreManager;
 import com.inventory.management.repository.ActivityLogRepository;
 import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.repository.ItemProjection;
 import com.inventory.management.repository.StoreManagerRepository;
+import com.inventory.management.tenant.ManagerDirectory;
+import com.inventory.management.tenant.TenantContext;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class InventoryService {
     
+    static final String SERVICE_TIMER = "inventory.service";
+    static final String ITEMS_CREATED_METRIC = "inventory.items.created";
+    static final String ITEMS_UPDATED_METRIC = "inventory.items.updated";
+    static final String ITEMS_DELETED_METRIC = "inventory.items.deleted";
+    static final int MAX_IN_LIST = 1000;
+    public static final int MAX_BATCH_GET = 1000;
+    static final Set<String> PATCHABLE_FIELDS =
+            Set.of("name", "sku", "category", "price", "quantity", "imageUrl", "reorderPoint");
+    static final Set<String> REQUIRED_FIELDS = Set.of("name", "sku", "category", "price", "quantity");
+    
     private final InventoryItemRepository inventoryItemRepository;
     private final StoreManagerRepository storeManagerRepository;
     private final ActivityLogRepository activityLogRepository;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SkuService skuService;
+    private final ItemFragmentCache itemFragmentCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ReorderProperties reorderProperties;
+    private final ManagerDirectory managerDirectory;
+    
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public List<InventoryItemDTO> getAllItems() {
+        return inventoryItemRepository.findItemDTOsByManagerId(getCurrentManagerId());
+    }
     
-    // For demo purposes, we'll use a default manager
-    private static final Long DEFAULT_MANAGER_ID = 1L;
+    // Same items as getAllItems, as a JSON array assembled from cached per-item encodings
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public JsonFragments getAllItemsJson() {
+        Long managerId = getCurrentManagerId();
+        List<Object[]> idVersions = inventoryItemRepository.findIdVersionPairsByManagerId(managerId);
+        // Mostly cold: one scan of the manager's items beats many IN lists
+        return itemFragmentCache.assemble(managerId, idVersions, missing -> missing.size() * 2 > idVersions.size()
+                ? inventoryItemRepository.findVersionedItemDTOsByManagerId(managerId)
+                : findVersionedItems(managerId, missing));
+    }
     
+    /**
+     * The requested items as a JSON array in request order, read through the item JSON cache. Ids
+     * the manager has no item for come back as {@code {"id":..,"notFound":true}}.
+     */
     @Transactional(readOnly = true)
-    public List<InventoryItem> getAllItems() {
-        return inventoryItemRepository.findByManagerId(getDefaultManager().getId());
+    @Timed(SERVICE_TIMER)
+    public JsonFragments getItemsJson(List<Long> ids) {
+        Long managerId = getCurrentManagerId();
+        if (ids.isEmpty()) {
+            return new JsonFragments(List.of());
+        }
+        List<Object[]> idVersions = inventoryItemRepository.findIdVersionPairsByIds(new LinkedHashSet<>(ids), managerId);
+        Map<Long, byte[]> found = itemFragmentCache.find(managerId, idVersions,
+                missing -> findVersionedItems(managerId, missing));
+        List<byte[]> elements = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            byte[] json = found.get(id);
+            elements.add(json != null ? json : ("{\"id\":" + id + ",\"notFound\":true}").getBytes(StandardCharsets.UTF_8));
+        }
+        return new JsonFragments(elements);
     }
     
     @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public List<Map<String, Object>> getAllItems(ItemProjection projection) {
+        return inventoryItemRepository.findItemFieldsByManagerId(getCurrentManagerId(), projection);
+    }
+    
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
     public Optional<InventoryItem> getItemById(Long id) {
+        Long managerId = getCurrentManagerId();
         return inventoryItemRepository.findById(id)
-                .filter(item -> item.getManager().getId().equals(getDefaultManager().getId()));
+                .filter(item -> isOwnedBy(item, managerId));
+    }
+    
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public Optional<InventoryItemDTO> getItemBySku(String sku) {
+        Long managerId = getCurrentManagerId();
+        return skuService.findItemId(managerId, sku)
+                .flatMap(id -> inventoryItemRepository.findItemDTOById(id, managerId));
+    }
+    
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public List<InventoryItemDTO> searchItems(String query) {
+        return inventoryItemRepository.searchItemDTOs(query, getCurrentManagerId());
+    }
+    
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public List<Map<String, Object>> searchItems(String query, ItemProjection projection) {
+        return inventoryItemRepository.searchItemFields(query, getCurrentManagerId(), projection);
+    }
+    
+    // In stock but below the item's reorder point, as in the reorder list and the LOW_STOCK facet
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public List<InventoryItemDTO> getLowStockItems() {
+        return inventoryItemRepository.findLowStockItemDTOs(getCurrentManagerId(),
+                reorderProperties.getCategoryDefaults(), reorderProperties.getDefaultPoint());
     }
     
     @Transactional(readOnly = true)
-    public List<InventoryItem> searchItems(String query) {
-        return inventoryItemRepository.searchItems(query, getDefaultManager().getId());
+    @Timed(SERVICE_TIMER)
+    public List<InventoryItemDTO> getOutOfStockItems() {
+        return inventoryItemRepository.findOutOfStockItemDTOs(getCurrentManagerId());
     }
     
     @Transactional(readOnly = true)
-    public List<InventoryItem> getLowStockItems() {
-        return inventoryItemRepository.findLowStockItems(getDefaultManager().getId());
+    @Timed(SERVICE_TIMER)
+    public long countLowStockItems() {
+        return inventoryItemRepository.countLowStockItems(getCurrentManagerId(),
+                reorderProperties.getCategoryDefaults(), reorderProperties.getDefaultPoint());
     }
     
     @Transactional(readOnly = true)
-    public List<InventoryItem> getOutOfStockItems() {
-        return inventoryItemRepository.findOutOfStockItems(getDefaultManager().getId());
+    @Timed(SERVICE_TIMER)
+    public long countOutOfStockItems() {
+        return inventoryItemRepository.countOutOfStockItems(getCurrentManagerId());
     }
     
     @Transactional
+    @Timed(SERVICE_TIMER)
     public InventoryItem createItem(InventoryItemDTO itemDTO) {
-        StoreManager manager = getDefaultManager();
+        Long managerId = getCurrentManagerId();
+        skuService.ensureAvailable(managerId, itemDTO.getSku(), null);
         
         InventoryItem item = new InventoryItem();
         item.setName(itemDTO.getName());
@@ -63,44 +181,103 @@ public class InventoryService {
         item.setPrice(itemDTO.getPrice());
         item.setQuantity(itemDTO.getQuantity());
         item.setImageUrl(itemDTO.getImageUrl());
-        item.setManager(manager);
+        item.setReorderPoint(itemDTO.getReorderPoint());
+        item.setManager(getCurrentManagerReference());
         
         InventoryItem savedItem = inventoryItemRepository.save(item);
         
         // Log the activity
         logActivity("Created new item: " + savedItem.getName(), savedItem);
+        meterRegistry.counter(ITEMS_CREATED_METRIC).increment();
+        eventPublisher.publishEvent(new InventoryItemChangedEvent(managerId, null, convertToDTO(savedItem)));
         
         return savedItem;
     }
     
     @Transactional
+    @Timed(SERVICE_TIMER)
     public Optional<InventoryItem> updateItem(Long id, InventoryItemDTO itemDTO) {
+        Long managerId = getCurrentManagerId();
         return inventoryItemRepository.findById(id)
-                .filter(item -> item.getManager().getId().equals(getDefaultManager().getId()))
+                .filter(item -> isOwnedBy(item, managerId))
                 .map(existingItem -> {
+                    skuService.ensureAvailable(managerId, itemDTO.getSku(), id);
+                    InventoryItemDTO previous = convertToDTO(existingItem);
                     existingItem.setName(itemDTO.getName());
                     existingItem.setSku(itemDTO.getSku());
                     existingItem.setCategory(itemDTO.getCategory());
                     existingItem.setPrice(itemDTO.getPrice());
                     existingItem.setQuantity(itemDTO.getQuantity());
                     existingItem.setImageUrl(itemDTO.getImageUrl());
+                    existingItem.setReorderPoint(itemDTO.getReorderPoint());
                     
                     // Log the activity
                     logActivity("Updated item: " + existingItem.getName(), existingItem);
+                    meterRegistry.counter(ITEMS_UPDATED_METRIC).increment();
                     
-                    return inventoryItemRepository.save(existingItem);
+                    InventoryItem savedItem = inventoryItemRepository.save(existingItem);
+                    eventPublisher.publishEvent(new InventoryItemChangedEvent(managerId, previous, convertToDTO(savedItem)));
+                    return savedItem;
                 });
     }
     
+    /**
+     * Applies a JSON merge patch (RFC 7396): only the fields present change, and {@code null} clears
+     * {@code imageUrl} or {@code reorderPoint}. A patch that changes nothing writes nothing, not even
+     * an activity entry; otherwise only the changed columns are updated, see
+     * {@link InventoryItemRepository#updateFields}.
+     *
+     * @throws InvalidFieldsException for unknown fields, values of the wrong type, a cleared
+     *                                required field or a value the item does not allow
+     */
     @Transactional
+    @Timed(SERVICE_TIMER)
+    public Optional<InventoryItem> patchItem(Long id, JsonNode patch) {
+        if (!patch.isObject()) {
+            throw new InvalidFieldsException("A merge patch must be a JSON object");
+        }
+        patch.fieldNames().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new InvalidFieldsException("Field '" + field + "' cannot be patched");
+            }
+        });
+        Long managerId = getCurrentManagerId();
+        return inventoryItemRepository.findById(id)
+                .filter(item -> isOwnedBy(item, managerId))
+                .map(existingItem -> {
+                    InventoryItemDTO previous = convertToDTO(existingItem);
+                    InventoryItemDTO patched = merge(previous, patch);
+                    Map<String, Object> changes = changedFields(previous, patched, patch);
+                    if (changes.isEmpty()) {
+                        return existingItem;
+                    }
+                    // Checked here because the targeted update bypasses Hibernate's validation on flush
+                    validate(changes);
+                    if (changes.containsKey("sku")) {
+                        skuService.ensureAvailable(managerId, patched.getSku(), id);
+                    }
+                    inventoryItemRepository.updateFields(existingItem, changes);
+                    
+                    logActivity("Updated item: " + existingItem.getName(), existingItem);
+                    meterRegistry.counter(ITEMS_UPDATED_METRIC).increment();
+                    eventPublisher.publishEvent(new InventoryItemChangedEvent(managerId, previous, patched));
+                    return existingItem;
+                });
+    }
+    
+    @Transactional
+    @Timed(SERVICE_TIMER)
     public boolean deleteItem(Long id) {
+        Long managerId = getCurrentManagerId();
         return inventoryItemRepository.findById(id)
-                .filter(item -> item.getManager().getId().equals(getDefaultManager().getId()))
+                .filter(item -> isOwnedBy(item, managerId))
                 .map(item -> {
                     // Log the activity before deletion
                     logActivity("Deleted item: " + item.getName(), item);
                     
                     inventoryItemRepository.delete(item);
+                    meterRegistry.counter(ITEMS_DELETED_METRIC).increment();
+                    eventPublisher.publishEvent(new InventoryItemChangedEvent(managerId, convertToDTO(item), null));
                     return true;
                 })
                 .orElse(false);
@@ -109,22 +286,74 @@ public class InventoryService {
     @Transactional
     public void logActivity(String action, InventoryItem item) {
         ActivityLog log = new ActivityLog();
-        log.setManager(getDefaultManager());
+        log.setManager(getCurrentManagerReference());
         log.setAction(action);
         log.setItemId(item.getId());
         log.setItemName(item.getName());
         activityLogRepository.save(log);
     }
     
-    private StoreManager getDefaultManager() {
-        return storeManagerRepository.findById(DEFAULT_MANAGER_ID)
-                .orElseGet(() -> {
-                    StoreManager manager = new StoreManager();
-                    manager.setName("Default Manager");
-                    manager.setEmail("admin@inventoryhub.com");
-                    manager.setPasswordHash("$2a$10$hKDVYxLefVHV/vtuPhWD3OigtRyOykRLDdUAp80Z1crSoS1lFqaFS"); // default
-                    return storeManagerRepository.save(manager);
-                });
+    private List<VersionedItemDTO> findVersionedItems(Long managerId, List<Long> ids) {
+        List<VersionedItemDTO> items = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST, ids.size()));
+            items.addAll(inventoryItemRepository.findVersionedItemDTOsByIds(chunk, managerId));
+        }
+        return items;
+    }
+    
+    private InventoryItemDTO merge(InventoryItemDTO previous, JsonNode patch) {
+        for (String field : REQUIRED_FIELDS) {
+            if (patch.has(field) && patch.get(field).isNull()) {
+                throw new InvalidFieldsException("Field '" + field + "' cannot be removed");
+            }
+        }
+        InventoryItemDTO copy = new InventoryItemDTO(previous.getId(), previous.getName(), previous.getSku(),
+                previous.getCategory(), previous.getPrice(), previous.getQuantity(), previous.getImageUrl(),
+                previous.getReorderPoint());
+        try {
+            return objectMapper.readerForUpdating(copy).readValue(patch);
+        } catch (IOException e) {
+            throw new InvalidFieldsException("Invalid merge patch: " + e.getMessage());
+        }
+    }
+    
+    // The patched fields whose value differs, keyed by InventoryItem attribute in patch order
+    private static Map<String, Object> changedFields(InventoryItemDTO previous, InventoryItemDTO patched,
+                                                     JsonNode patch) {
+        BeanWrapper before = PropertyAccessorFactory.forBeanPropertyAccess(previous);
+        BeanWrapper after = PropertyAccessorFactory.forBeanPropertyAccess(patched);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        patch.fieldNames().forEachRemaining(field -> {
+            Object value = after.getPropertyValue(field);
+            if (!Objects.equals(before.getPropertyValue(field), value)) {
+                changes.put(field, value);
+            }
+        });
+        return changes;
+    }
+    
+    private void validate(Map<String, Object> changes) {
+        changes.forEach((field, value) -> {
+            Set<ConstraintViolation<InventoryItem>> violations = validator.validateValue(InventoryItem.class, field, value);
+            if (!violations.isEmpty()) {
+                throw new InvalidFieldsException("Field '" + field + "' " + violations.iterator().next().getMessage());
+            }
+        });
+    }
+    
+    // Reading the id of a lazy manager proxy does not initialize it
+    private boolean isOwnedBy(InventoryItem item, Long managerId) {
+        return item.getManager().getId().equals(managerId);
+    }
+    
+    private Long getCurrentManagerId() {
+        return managerDirectory.resolve(TenantContext.currentManagerId());
+    }
+    
+    // Writes only need the foreign key, so a resolved manager is not loaded again
+    private StoreManager getCurrentManagerReference() {
+        return storeManagerRepository.getReferenceById(getCurrentManagerId());
     }
     
     public InventoryItemDTO convertToDTO(InventoryItem item) {
@@ -136,6 +365,7 @@ public class InventoryService {
         dto.setPrice(item.getPrice());
         dto.setQuantity(item.getQuantity());
         dto.setImageUrl(item.getImageUrl());
+        dto.setReorderPoint(item.getReorderPoint());
         return dto;
     }
 }
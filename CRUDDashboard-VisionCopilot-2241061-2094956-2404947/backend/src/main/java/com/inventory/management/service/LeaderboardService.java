@@ -0,0 +1,85 @@
+package com.inventory.management.service;
+
+import com.inventory.management.analytics.ItemLeaderboard;
+import com.inventory.management.dto.LeaderboardEntryDTO;
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.tenant.ManagerDirectory;
+import com.inventory.management.tenant.TenantRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Top-K leaderboards kept current from item change events. Units moved are the quantity
+ * decreases recorded by updates; they are held in memory on the node that made the update, so
+ * the weekly window starts empty after a restart. The database has no record of them to rebuild
+ * from, so leaderboards are never dropped to make room for other managers (see TenantRegistry).
+ */
+@Service
+public class LeaderboardService {
+    
+    public static final int MAX_LIMIT = 100;
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TenantRegistry<ItemLeaderboard> leaderboards;
+    private final ManagerDirectory managerDirectory;
+    
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    
+    public LeaderboardService(InventoryItemRepository inventoryItemRepository,
+                              TenantRegistry<ItemLeaderboard> leaderboards,
+                              ManagerDirectory managerDirectory) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.leaderboards = leaderboards.withoutEviction();
+        this.managerDirectory = managerDirectory;
+    }
+    
+    public List<LeaderboardEntryDTO> getTopByStockValue(int limit) {
+        return leaderboard(managerDirectory.currentManagerId()).topByStockValue(limit);
+    }
+    
+    public List<LeaderboardEntryDTO> getTopByUnitsMoved(int limit) {
+        return leaderboard(managerDirectory.currentManagerId()).topByUnitsMoved(limit, LocalDate.now().toEpochDay());
+    }
+    
+    @EventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        leaderboards.update(event.managerId(), leaderboard -> {
+            if (event.isDeleted()) {
+                leaderboard.remove(event.itemId());
+                return;
+            }
+            leaderboard.upsert(event.current());
+            if (!event.isCreated()) {
+                long unitsMoved = (long) event.previous().getQuantity() - event.current().getQuantity();
+                leaderboard.recordUnitsMoved(event.itemId(), unitsMoved, LocalDate.now().toEpochDay());
+            }
+        });
+    }
+    
+    // Another node changed these managers' items. Dropping the leaderboards would lose this node's
+    // movement history, so only their stock values are reloaded
+    @EventListener
+    public void onCachesInvalidated(CachesInvalidatedEvent event) {
+        event.managerIds().stream().filter(leaderboards::isLoaded).forEach(stale::add);
+    }
+    
+    private ItemLeaderboard leaderboard(Long managerId) {
+        ItemLeaderboard leaderboard = leaderboards.get(managerId, id -> load(id, new ItemLeaderboard()));
+        if (!stale.remove(managerId)) {
+            return leaderboard;
+        }
+        return leaderboards.rebuild(managerId, leaderboard, id -> load(id, leaderboard));
+    }
+    
+    private ItemLeaderboard load(Long managerId, ItemLeaderboard leaderboard) {
+        leaderboard.load(() -> inventoryItemRepository.findItemDTOsByManagerId(managerId));
+        return leaderboard;
+    }
+}
@@ -0,0 +1,94 @@
+package com.inventory.management.service;
+
+import com.inventory.management.analytics.ReorderIndex;
+import com.inventory.management.config.ReorderProperties;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.ReorderItemDTO;
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.event.ReorderThresholdCrossedEvent;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.tenant.ManagerDirectory;
+import com.inventory.management.tenant.TenantRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps the "needs reorder" list for each manager in a {@link ReorderIndex}. The index is built
+ * from a prefiltered query on first use and updated from item change events afterwards; an item
+ * crossing its reorder point publishes a {@link ReorderThresholdCrossedEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReorderService {
+    
+    public static final int MAX_LIMIT = 100;
+    static final String CROSSINGS_METRIC = "inventory.reorder.crossings";
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final ReorderProperties reorderProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TenantRegistry<ReorderIndex> indexes;
+    private final ManagerDirectory managerDirectory;
+    
+    public List<ReorderItemDTO> getItemsNeedingReorder(int limit) {
+        return indexes.get(managerDirectory.currentManagerId(), this::build).mostUrgent(limit);
+    }
+    
+    public int reorderPointOf(InventoryItemDTO item) {
+        return item.getReorderPoint() != null
+                ? item.getReorderPoint()
+                : reorderProperties.defaultPointFor(item.getCategory());
+    }
+    
+    @EventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        indexes.update(event.managerId(), index -> {
+            if (event.isDeleted()) {
+                index.remove(event.itemId());
+            } else {
+                index.update(event.current(), reorderPointOf(event.current()));
+            }
+        });
+    }
+    
+    // Decided from the change itself rather than the index, so crossings are published whether or
+    // not the manager's index has been built yet
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemCommitted(InventoryItemChangedEvent event) {
+        if (event.isDeleted()) {
+            return;
+        }
+        boolean needsReorder = needsReorder(event.current());
+        if (needsReorder != needsReorder(event.previous())) {
+            InventoryItemDTO item = event.current();
+            meterRegistry.counter(CROSSINGS_METRIC, "direction", needsReorder ? "below" : "recovered").increment();
+            eventPublisher.publishEvent(
+                    new ReorderThresholdCrossedEvent(event.managerId(), item, reorderPointOf(item), needsReorder));
+        }
+    }
+    
+    // Changed on another node, which also publishes the threshold crossings; rebuilt on next use
+    @EventListener
+    public void onCachesInvalidated(CachesInvalidatedEvent event) {
+        indexes.evict(event.managerIds());
+    }
+    
+    private boolean needsReorder(InventoryItemDTO item) {
+        return item != null && item.getQuantity() < reorderPointOf(item);
+    }
+    
+    private ReorderIndex build(Long managerId) {
+        ReorderIndex index = new ReorderIndex();
+        index.load(() -> inventoryItemRepository.findReorderCandidateDTOs(managerId,
+                reorderProperties.maxDefaultPoint()), this::reorderPointOf);
+        return index;
+    }
+}
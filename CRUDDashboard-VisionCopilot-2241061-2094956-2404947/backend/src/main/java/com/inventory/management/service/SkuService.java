@@ -0,0 +1,74 @@
+package com.inventory.management.service;
+
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.exception.DuplicateSkuException;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.tenant.TenantRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SKU to item id map per manager, so scanner lookups and uniqueness checks skip the database.
+ * The map is loaded on first use and kept current from item change events. The
+ * (manager_id, sku) unique constraint remains the guard against concurrent writers.
+ */
+@Service
+@RequiredArgsConstructor
+public class SkuService {
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TenantRegistry<Map<String, Long>> idsBySku;
+    
+    public Optional<Long> findItemId(Long managerId, String sku) {
+        return Optional.ofNullable(skus(managerId).get(sku));
+    }
+    
+    /**
+     * @param itemId the item that will carry the SKU, or {@code null} for a new item
+     * @throws DuplicateSkuException if another item of the manager already uses the SKU
+     */
+    public void ensureAvailable(Long managerId, String sku, Long itemId) {
+        Long owner = skus(managerId).get(sku);
+        if (owner != null && !owner.equals(itemId)) {
+            throw new DuplicateSkuException(sku);
+        }
+    }
+    
+    @EventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        idsBySku.update(event.managerId(), skus -> {
+            synchronized (skus) {
+                if (event.previous() != null) {
+                    skus.remove(event.previous().getSku(), event.itemId());
+                }
+                if (event.current() != null) {
+                    skus.put(event.current().getSku(), event.itemId());
+                }
+            }
+        });
+    }
+    
+    // SKUs may have been taken or freed on another node, so the map is reloaded on next use
+    @EventListener
+    public void onCachesInvalidated(CachesInvalidatedEvent event) {
+        idsBySku.evict(event.managerIds());
+    }
+    
+    private Map<String, Long> skus(Long managerId) {
+        return idsBySku.get(managerId, this::load);
+    }
+    
+    private Map<String, Long> load(Long managerId) {
+        Map<String, Long> skus = new ConcurrentHashMap<>();
+        for (Object[] row : inventoryItemRepository.findSkuIdPairsByManagerId(managerId)) {
+            skus.put((String) row[0], (Long) row[1]);
+        }
+        return skus;
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory.management.service;
+
+import com.inventory.management.analytics.ColumnarItemSnapshot;
+import com.inventory.management.analytics.ValuationFilter;
+import com.inventory.management.dto.CategoryStatsDTO;
+import com.inventory.management.dto.PriceBandStatsDTO;
+import com.inventory.management.dto.ValuationDTO;
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.tenant.ManagerDirectory;
+import com.inventory.management.tenant.TenantRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Answers valuation questions from an in-memory columnar snapshot of each manager's items. A
+ * snapshot is loaded from the database on first use and then kept current from item change
+ * events, so queries never scan the item table.
+ */
+@Service
+@RequiredArgsConstructor
+public class ValuationService {
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TenantRegistry<ColumnarItemSnapshot> snapshots;
+    private final ManagerDirectory managerDirectory;
+    
+    public ValuationDTO getValuation(ValuationFilter filter) {
+        return snapshot(managerDirectory.currentManagerId()).total(filter);
+    }
+    
+    public List<CategoryStatsDTO> getValuationByCategory(ValuationFilter filter) {
+        return snapshot(managerDirectory.currentManagerId()).totalsByCategory(filter);
+    }
+    
+    public List<PriceBandStatsDTO> getValuationByPriceBand(ValuationFilter filter, double bandWidth) {
+        return snapshot(managerDirectory.currentManagerId()).totalsByPriceBand(filter, bandWidth);
+    }
+    
+    @EventListener
+    public void onItemChanged(InventoryItemChangedEvent event) {
+        snapshots.update(event.managerId(), snapshot -> {
+            if (event.isDeleted()) {
+                snapshot.remove(event.itemId());
+            } else {
+                snapshot.upsert(event.current());
+            }
+        });
+    }
+    
+    // Written by another node; the snapshot is reloaded on next use
+    @EventListener
+    public void onCachesInvalidated(CachesInvalidatedEvent event) {
+        snapshots.evict(event.managerIds());
+    }
+    
+    private ColumnarItemSnapshot snapshot(Long managerId) {
+        return snapshots.get(managerId, this::load);
+    }
+    
+    private ColumnarItemSnapshot load(Long managerId) {
+        ColumnarItemSnapshot snapshot = new ColumnarItemSnapshot();
+        snapshot.load(() -> inventoryItemRepository.findItemDTOsByManagerId(managerId));
+        return snapshot;
+    }
+}
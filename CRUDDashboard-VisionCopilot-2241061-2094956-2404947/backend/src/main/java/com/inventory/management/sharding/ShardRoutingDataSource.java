@@ -0,0 +1,63 @@
+package com.inventory.management.sharding;
+
+import com.inventory.management.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends every connection to the shard of the current thread's manager, so repositories, queries
+ * and transactions only ever see that manager's shard.
+ */
+@Slf4j
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String ROUTED_METRIC = "inventory.datasource.shard";
+
+    private final ShardMap shardMap;
+    private final Map<String, DataSource> shards;
+    private final MeterRegistry meterRegistry;
+
+    public ShardRoutingDataSource(ShardMap shardMap, Map<String, DataSource> shards, MeterRegistry meterRegistry) {
+        this.shardMap = shardMap;
+        this.shards = shards;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSources(new LinkedHashMap<>(shards));
+        // A connection without a shard would silently mix tenants, so there is no default target
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public Map<String, DataSource> getShards() {
+        return shards;
+    }
+
+    public String currentShard() {
+        return shardMap.shardFor(TenantContext.currentManagerId());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = currentShard();
+        meterRegistry.counter(ROUTED_METRIC, "shard", shard).increment();
+        return shard;
+    }
+
+    @Override
+    public void destroy() {
+        for (DataSource shard : shards.values()) {
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close shard data source", e);
+                }
+            }
+        }
+    }
+}
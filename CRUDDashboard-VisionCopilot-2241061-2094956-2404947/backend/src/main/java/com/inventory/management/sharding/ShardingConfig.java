@@ -0,0 +1,76 @@
+package com.inventory.management.sharding;
+
+import com.inventory.management.replication.ReplicaProperties;
+import com.inventory.management.snapshot.SnapshotProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the application DataSource with one that routes each manager to its shard. Only active
+ * when {@code inventory.shards.count} is above one.
+ *
+ * <p>Every shard is migrated here before the routing DataSource is handed out, because the Flyway
+ * auto-configuration only reaches the shard of the default manager. Read replicas and snapshots
+ * copy a single database, so neither can be combined with sharding.
+ */
+@Configuration
+@ConditionalOnExpression("${inventory.shards.count:1} > 1")
+public class ShardingConfig {
+
+    @Bean
+    public ShardMap shardMap(ShardingProperties shardingProperties) {
+        List<String> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardingProperties.getCount(); shard++) {
+            shards.add("shard-" + shard);
+        }
+        return new ShardMap(shards, shardingProperties.getVirtualNodes());
+    }
+
+    // Decorated by the SQL observation proxy like any DataSource bean; unwrap to reach the shards
+    @Bean
+    @Primary
+    public DataSource shardRoutingDataSource(ShardMap shardMap, ShardingProperties shardingProperties,
+                                                         DataSourceProperties dataSourceProperties,
+                                                         FlywayProperties flywayProperties,
+                                                         ReplicaProperties replicaProperties,
+                                                         SnapshotProperties snapshotProperties,
+                                                         MeterRegistry meterRegistry) {
+        if (replicaProperties.getCount() > 0 || snapshotProperties.isEnabled()) {
+            throw new IllegalStateException(
+                    "inventory.shards.count cannot be combined with read replicas or database snapshots");
+        }
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put(shardMap.getShards().get(0),
+                dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build());
+        for (int shard = 1; shard < shardingProperties.getCount(); shard++) {
+            shards.put(shardMap.getShards().get(shard), DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(String.format(shardingProperties.getUrlTemplate(), shard))
+                    .username(dataSourceProperties.getUsername())
+                    .password(dataSourceProperties.getPassword())
+                    .build());
+        }
+        for (DataSource shard : shards.values()) {
+            Flyway.configure()
+                    .dataSource(shard)
+                    .locations(flywayProperties.getLocations().toArray(String[]::new))
+                    .load()
+                    .migrate();
+        }
+        return new ShardRoutingDataSource(shardMap, shards, meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.inventory.management.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Database shards that managers are partitioned across. Shard 0 is the configured
+ * {@code spring.datasource}; with {@code count} above one, shards 1 to count-1 live at
+ * {@code url-template} (formatted with the shard number) and every manager's rows go to the shard
+ * that {@link ShardMap} assigns it.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.shards")
+public class ShardingProperties {
+
+    private int count = 1;
+
+    private String urlTemplate = "jdbc:h2:mem:inventorydb-shard-%d;DB_CLOSE_DELAY=-1";
+
+    private int virtualNodes = 128;
+}
@@ -0,0 +1,26 @@
+package com.inventory.management.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for database snapshots. When enabled, the database is dumped to {@code path} on shutdown
+ * and an empty database is restored from that file before migrations run. Snapshots can be taken
+ * on demand through {@code /actuator/snapshots} either way.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+
+    private Path path = Path.of("data", "inventorydb-snapshot.sql.gz");
+
+    private boolean restoreOnStartup = true;
+
+    private boolean snapshotOnShutdown = true;
+}
@@ -0,0 +1,28 @@
+package com.inventory.management.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Restores the snapshot before Flyway runs, so only migrations newer than the snapshot are applied
+ * and {@code DataLoader} finds the restored data instead of seeding.
+ */
+@Slf4j
+@Configuration
+public class SnapshotRestoreConfig {
+
+    @Bean
+    public FlywayMigrationStrategy snapshotRestoringMigrationStrategy(SnapshotProperties properties,
+                                                                      DatabaseSnapshotter snapshotter) {
+        return flyway -> {
+            // An applied migration means the database already has a schema and data to keep
+            boolean empty = flyway.info().applied().length == 0;
+            if (properties.isEnabled() && properties.isRestoreOnStartup() && empty && !snapshotter.restore()) {
+                log.info("No database snapshot at {}, starting from migrations", properties.getPath());
+            }
+            flyway.migrate();
+        };
+    }
+}
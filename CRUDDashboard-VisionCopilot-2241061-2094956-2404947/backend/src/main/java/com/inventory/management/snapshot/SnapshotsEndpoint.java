@@ -0,0 +1,28 @@
+package com.inventory.management.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin endpoint to take a database snapshot and see the latest one.
+ */
+@Component
+@Endpoint(id = "snapshots")
+@RequiredArgsConstructor
+public class SnapshotsEndpoint {
+
+    private final DatabaseSnapshotter databaseSnapshotter;
+
+    @ReadOperation
+    public DatabaseSnapshotter.Snapshot latest() {
+        return databaseSnapshotter.getLatest();
+    }
+
+    @WriteOperation
+    public DatabaseSnapshotter.Snapshot snapshot() {
+        return databaseSnapshotter.snapshot();
+    }
+}
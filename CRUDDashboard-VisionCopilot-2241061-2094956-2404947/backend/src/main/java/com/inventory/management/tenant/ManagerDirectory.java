@@ -0,0 +1,66 @@
+package com.inventory.management.tenant;
+
+import com.inventory.management.exception.ManagerNotFoundException;
+import com.inventory.management.model.StoreManager;
+import com.inventory.management.repository.StoreManagerRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The store managers known to exist. Each id is looked up once, so requests do not load the
+ * manager row every time; ids that do not exist are not remembered, and nothing is cached for them.
+ */
+@Component
+public class ManagerDirectory {
+
+    private final StoreManagerRepository storeManagerRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final Map<Long, Long> resolved = new ConcurrentHashMap<>();
+
+    public ManagerDirectory(StoreManagerRepository storeManagerRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.storeManagerRepository = storeManagerRepository;
+        // Read-write, so a manager provisioned moments ago is found on the primary
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The id of the manager a request for {@code managerId} works for. Only the default manager is
+     * created on demand, with whatever id the database gives it; other managers are provisioned.
+     *
+     * @throws ManagerNotFoundException if the manager does not exist
+     */
+    public Long resolve(Long managerId) {
+        Long id = resolved.get(managerId);
+        if (id == null) {
+            id = primaryTransaction.execute(status -> storeManagerRepository.findById(managerId)
+                    .orElseGet(() -> create(managerId))
+                    .getId());
+            resolved.put(managerId, id);
+        }
+        return id;
+    }
+
+    /**
+     * The id the current tenant's items are stored under, and that per-manager structures, caches
+     * and change events are keyed by; see {@link #resolve}.
+     */
+    public Long currentManagerId() {
+        return resolve(TenantContext.currentManagerId());
+    }
+
+    private StoreManager create(Long managerId) {
+        if (!TenantContext.DEFAULT_MANAGER_ID.equals(managerId)) {
+            throw new ManagerNotFoundException(managerId);
+        }
+        StoreManager manager = new StoreManager();
+        manager.setName("Default Manager");
+        manager.setEmail("admin@inventoryhub.com");
+        manager.setPasswordHash("$2a$10$hKDVYxLefVHV/vtuPhWD3OigtRyOykRLDdUAp80Z1crSoS1lFqaFS"); // default
+        return storeManagerRepository.save(manager);
+    }
+}
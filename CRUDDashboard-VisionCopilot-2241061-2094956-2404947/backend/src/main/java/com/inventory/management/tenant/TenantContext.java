@@ -0,0 +1,55 @@
+package com.inventory.management.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * The store manager the current thread works for. {@link TenantFilter} sets it from the
+ * {@value TenantFilter#HEADER} header of each request; threads without a tenant, such as requests
+ * without the header and startup tasks, work for the default manager.
+ */
+public final class TenantContext {
+
+    public static final Long DEFAULT_MANAGER_ID = 1L;
+
+    private static final ThreadLocal<Long> MANAGER_ID = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static Long currentManagerId() {
+        Long managerId = MANAGER_ID.get();
+        return managerId != null ? managerId : DEFAULT_MANAGER_ID;
+    }
+
+    /**
+     * Runs {@code work} for {@code managerId} and restores the previous tenant afterwards.
+     */
+    public static <T> T callAs(Long managerId, Supplier<T> work) {
+        Long previous = MANAGER_ID.get();
+        MANAGER_ID.set(managerId);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                MANAGER_ID.set(previous);
+            } else {
+                MANAGER_ID.remove();
+            }
+        }
+    }
+
+    public static void runAs(Long managerId, Runnable work) {
+        callAs(managerId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    static void set(Long managerId) {
+        MANAGER_ID.set(managerId);
+    }
+
+    static void clear() {
+        MANAGER_ID.remove();
+    }
+}
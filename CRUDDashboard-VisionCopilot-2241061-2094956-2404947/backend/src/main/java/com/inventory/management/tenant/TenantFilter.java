@@ -0,0 +1,65 @@
+package com.inventory.management.tenant;
+
+import com.inventory.management.exception.ManagerNotFoundException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Resolves the tenant of each request from the {@value #HEADER} header before anything touches the
+ * database, since the shard a connection goes to depends on it. Requests without the header work
+ * for the default manager; a header that is not a positive id is rejected, and one naming a manager
+ * that does not exist is not found.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Manager-Id";
+
+    private final ManagerDirectory managerDirectory;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            Long managerId = parse(header);
+            if (managerId == null) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + HEADER + " header");
+                return;
+            }
+            TenantContext.set(managerId);
+            try {
+                managerDirectory.resolve(managerId);
+            } catch (ManagerNotFoundException e) {
+                TenantContext.clear();
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+                return;
+            }
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private static Long parse(String header) {
+        try {
+            long managerId = Long.parseLong(header.trim());
+            return managerId > 0 ? managerId : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
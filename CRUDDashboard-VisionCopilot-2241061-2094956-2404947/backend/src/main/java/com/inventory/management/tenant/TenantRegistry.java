@@ -0,0 +1,228 @@
+package com.inventory.management.tenant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One in-memory structure per manager, built from the database on first use and kept current
+ * from the manager's item writes. Each service that needs one gets its own registry.
+ *
+ * <p>A write is applied to the structure when its transaction commits. A build only publishes
+ * its structure if no other transaction wrote to the manager while it ran, because such a write
+ * may already be in the rows it read and would then be applied a second time; the build is
+ * discarded and run again instead, at most {@value #MAX_BUILD_ATTEMPTS} times under constant
+ * writes. Builds for one manager run one at a time and never block another manager.
+ *
+ * <p>Builds run in their own read-write transaction, so they read the primary: a structure built
+ * from a replica that has not caught up would miss writes whose changes were already applied.
+ *
+ * <p>At most {@code inventory.tenant.max-cached-managers} managers keep a structure; building one
+ * more drops the structure used longest ago, which is built again on its next use. Structures
+ * that hold state the database does not have opt out with {@link #withoutEviction()}.
+ *
+ * @param <T> the structure, which must be safe to update while it is being read
+ */
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class TenantRegistry<T> {
+
+    static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final Map<Long, Slot<T>> slots = new ConcurrentHashMap<>();
+    private final TransactionTemplate primaryTransaction;
+    private final int maxManagers;
+    private volatile boolean evictable = true;
+
+    public TenantRegistry(PlatformTransactionManager transactionManager,
+                          @Value("${inventory.tenant.max-cached-managers:1000}") int maxManagers) {
+        this.maxManagers = maxManagers;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryTransaction.setReadOnly(false);
+    }
+
+    /**
+     * Keeps every structure until it is evicted explicitly, because rebuilding it would lose data.
+     * Memory then grows with the number of managers served.
+     */
+    public TenantRegistry<T> withoutEviction() {
+        evictable = false;
+        return this;
+    }
+
+    /**
+     * The manager's structure, built by {@code builder} if it is not loaded.
+     */
+    public T get(Long managerId, Function<Long, ? extends T> builder) {
+        Slot<T> slot = slot(managerId);
+        slot.lastUsed = System.nanoTime();
+        T structure = slot.structure;
+        return structure != null ? structure : build(managerId, slot, null, builder);
+    }
+
+    public boolean isLoaded(Long managerId) {
+        Slot<T> slot = slots.get(managerId);
+        return slot != null && slot.structure != null;
+    }
+
+    /**
+     * Replaces {@code stale} with a structure built by {@code builder}, unless another caller
+     * already has.
+     */
+    public T rebuild(Long managerId, T stale, Function<Long, ? extends T> builder) {
+        return build(managerId, slot(managerId), stale, builder);
+    }
+
+    /**
+     * Applies {@code change} to the manager's structure once the current transaction commits, or
+     * right away outside a transaction. Nothing is applied to structures that are not loaded;
+     * they read the change from the database when they are built.
+     */
+    public void update(Long managerId, Consumer<? super T> change) {
+        Slot<T> slot = slot(managerId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            slot.begin();
+            slot.complete(change);
+            return;
+        }
+        slot.begin();
+        AtomicInteger ownWrites = ownWrites(slot, true);
+        ownWrites.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (ownWrites.decrementAndGet() == 0) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(slot);
+                }
+                slot.complete(status == STATUS_COMMITTED ? change : null);
+            }
+        });
+    }
+
+    /**
+     * Drops the managers' structures, for example after another node wrote to them. Builds that
+     * are running are discarded as well.
+     */
+    public void evict(Collection<Long> managerIds) {
+        for (Long managerId : managerIds) {
+            Slot<T> slot = slots.get(managerId);
+            if (slot != null) {
+                slot.evict();
+            }
+        }
+    }
+
+    private Slot<T> slot(Long managerId) {
+        return slots.computeIfAbsent(managerId, id -> new Slot<>());
+    }
+
+    private T build(Long managerId, Slot<T> slot, T stale, Function<Long, ? extends T> builder) {
+        synchronized (slot.buildLock) {
+            T current = slot.structure;
+            if (current != null && current != stale) {
+                return current;
+            }
+            // Writes of the caller's own transaction are not committed, so the build cannot read
+            // them; they are applied on commit like any write that starts after the build
+            AtomicInteger ownWrites = ownWrites(slot, false);
+            int own = ownWrites != null ? ownWrites.get() : 0;
+            for (int attempt = 1; ; attempt++) {
+                long writes = slot.writesIfQuiet(own);
+                T built = primaryTransaction.execute(status -> builder.apply(managerId));
+                if (slot.publish(built, writes, attempt == MAX_BUILD_ATTEMPTS)) {
+                    evictLeastRecentlyUsed(slot);
+                    return built;
+                }
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed(Slot<T> built) {
+        if (!evictable) {
+            return;
+        }
+        synchronized (slots) {
+            List<Slot<T>> loaded = slots.values().stream()
+                    .filter(slot -> slot != built && slot.structure != null)
+                    .sorted(Comparator.comparingLong(slot -> slot.lastUsed))
+                    .toList();
+            for (int i = 0; i < loaded.size() + 1 - maxManagers; i++) {
+                loaded.get(i).evict();
+            }
+        }
+    }
+
+    private static AtomicInteger ownWrites(Slot<?> slot, boolean create) {
+        AtomicInteger ownWrites = (AtomicInteger) TransactionSynchronizationManager.getResource(slot);
+        if (ownWrites == null && create) {
+            ownWrites = new AtomicInteger();
+            TransactionSynchronizationManager.bindResource(slot, ownWrites);
+        }
+        return ownWrites;
+    }
+
+    private static final class Slot<T> {
+
+        final Object buildLock = new Object();
+        volatile T structure;
+        volatile long lastUsed;
+        // Guarded by this: writes whose transaction has not completed, and completed writes and
+        // evictions, which any build that overlapped them must not publish
+        private int inFlight;
+        private long writes;
+
+        synchronized void begin() {
+            inFlight++;
+        }
+
+        void complete(Consumer<? super T> change) {
+            T current;
+            synchronized (this) {
+                inFlight--;
+                writes++;
+                current = structure;
+            }
+            if (change != null && current != null) {
+                change.accept(current);
+            }
+        }
+
+        synchronized void evict() {
+            structure = null;
+            writes++;
+        }
+
+        /**
+         * The write count to check when publishing, or -1 if other transactions are writing and
+         * the build may or may not see their rows.
+         */
+        synchronized long writesIfQuiet(int ownWrites) {
+            return inFlight > ownWrites ? -1 : writes;
+        }
+
+        synchronized boolean publish(T built, long writesBefore, boolean force) {
+            if (!force && (writesBefore < 0 || writes != writesBefore)) {
+                return false;
+            }
+            structure = built;
+            return true;
+        }
+    }
+}
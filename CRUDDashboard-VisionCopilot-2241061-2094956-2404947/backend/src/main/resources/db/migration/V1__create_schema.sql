@@ -0,0 +1,47 @@
+CREATE TABLE store_managers (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_store_managers_email UNIQUE (email)
+);
+
+CREATE TABLE inventory_items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    manager_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    price DOUBLE PRECISION NOT NULL CHECK (price >= 0),
+    quantity INTEGER NOT NULL CHECK (quantity >= 0),
+    image_url VARCHAR(255),
+    reorder_point INTEGER CHECK (reorder_point >= 0),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_inventory_items_manager_sku UNIQUE (manager_id, sku)
+);
+
+CREATE TABLE activity_log (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    manager_id BIGINT NOT NULL,
+    action VARCHAR(255) NOT NULL,
+    item_id BIGINT,
+    item_name VARCHAR(255),
+    timestamp TIMESTAMP(6)
+);
+
+-- Every repository query filters on manager_id, so each index leads with it. The category and
+-- activity indexes also carry the columns their queries read, so H2 answers them from the index alone.
+-- SKU lookups within a manager use uk_inventory_items_manager_sku.
+CREATE INDEX idx_inventory_items_manager_id ON inventory_items (manager_id);
+CREATE INDEX idx_inventory_items_manager_quantity ON inventory_items (manager_id, quantity);
+CREATE INDEX idx_inventory_items_manager_category ON inventory_items (manager_id, category, quantity, price);
+CREATE INDEX idx_activity_log_manager_id ON activity_log (manager_id);
+CREATE INDEX idx_activity_log_manager_timestamp ON activity_log (manager_id, timestamp, action, item_id, item_name);
+
+-- Foreign keys come last so they reuse the manager_id indexes instead of creating their own
+ALTER TABLE inventory_items ADD CONSTRAINT fk_inventory_items_manager
+    FOREIGN KEY (manager_id) REFERENCES store_managers (id);
+ALTER TABLE activity_log ADD CONSTRAINT fk_activity_log_manager
+    FOREIGN KEY (manager_id) REFERENCES store_managers (id);
@@ -0,0 +1,10 @@
+-- Invalidation log for in-process caches; every node polls it for writes made by other nodes
+CREATE TABLE cache_invalidations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    node_id VARCHAR(64) NOT NULL,
+    manager_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+-- Retention cleanup deletes by age
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at);
@@ -0,0 +1,2 @@
+-- Optimistic-locking version of each item; cached item JSON is keyed by (id, version)
+ALTER TABLE inventory_items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,12 @@
+-- Sequence ids let Hibernate batch inserts; an IDENTITY id is only known after each row's own INSERT.
+-- Hibernate reserves 50 ids per sequence call, ending at the value returned, so each sequence
+-- restarts 50 above the highest existing id. Plain SQL inserts take the next value as their id.
+CREATE SEQUENCE inventory_items_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE inventory_items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM inventory_items);
+ALTER TABLE inventory_items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE inventory_items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR inventory_items_seq;
+
+CREATE SEQUENCE activity_log_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE activity_log_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM activity_log);
+ALTER TABLE activity_log ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE activity_log ALTER COLUMN id SET DEFAULT NEXT VALUE FOR activity_log_seq;
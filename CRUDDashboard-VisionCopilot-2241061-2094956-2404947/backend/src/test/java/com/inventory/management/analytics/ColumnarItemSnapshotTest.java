@@ -0,0 +1,120 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.CategoryStatsDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.PriceBandStatsDTO;
+import com.inventory.management.dto.ValuationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarItemSnapshotTest {
+
+    private ColumnarItemSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new ColumnarItemSnapshot();
+        snapshot.load(() -> List.of(
+                item(1L, "Electronics", 999.99, 15),
+                item(2L, "Electronics", 29.99, 8),
+                item(3L, "Electronics", 59.99, 0),
+                item(4L, "Clothing", 19.99, 25)));
+    }
+
+    private InventoryItemDTO item(Long id, String category, double price, int quantity) {
+        InventoryItemDTO item = new InventoryItemDTO();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setSku("SKU-" + id);
+        item.setCategory(category);
+        item.setPrice(price);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    @Test
+    void testTotalWithFilters() {
+        // Act
+        ValuationDTO all = snapshot.total(ValuationFilter.all());
+        ValuationDTO electronicsInStock = snapshot.total(new ValuationFilter("Electronics", null, null, 1, null));
+        ValuationDTO cheap = snapshot.total(new ValuationFilter(null, null, 50.0, null, null));
+        ValuationDTO unknown = snapshot.total(new ValuationFilter("Garden", null, null, null, null));
+
+        // Assert
+        assertEquals(4L, all.getItemCount());
+        assertEquals(48L, all.getTotalUnits());
+        assertEquals(999.99 * 15 + 29.99 * 8 + 19.99 * 25, all.getStockValue(), 0.001);
+        assertEquals(2L, electronicsInStock.getItemCount(), "Out of stock item should be filtered out");
+        assertEquals(2L, cheap.getItemCount(), "Only the mouse and the t-shirt are at most 50");
+        assertEquals(0L, unknown.getItemCount(), "Unknown category should match nothing");
+    }
+
+    @Test
+    void testTotalsByCategoryAndPriceBand() {
+        // Act
+        List<CategoryStatsDTO> byCategory = snapshot.totalsByCategory(ValuationFilter.all());
+        List<PriceBandStatsDTO> byBand = snapshot.totalsByPriceBand(ValuationFilter.all(), 100);
+
+        // Assert
+        assertEquals(List.of("Clothing", "Electronics"), byCategory.stream().map(CategoryStatsDTO::getCategory).toList());
+        assertEquals(3L, byCategory.get(1).getItemCount());
+        assertEquals(23L, byCategory.get(1).getTotalUnits());
+        assertEquals(2, byBand.size(), "Should only return bands with items");
+        assertEquals(0.0, byBand.get(0).getLowerBound());
+        assertEquals(3L, byBand.get(0).getItemCount());
+        assertEquals(900.0, byBand.get(1).getLowerBound());
+        assertEquals(1000.0, byBand.get(1).getUpperBound());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.totalsByPriceBand(ValuationFilter.all(), 0));
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        // Act
+        snapshot.upsert(item(2L, "Clothing", 29.99, 10));
+        snapshot.remove(1L);
+        snapshot.upsert(item(5L, "Garden", 5.0, 4));
+        snapshot.remove(42L);
+
+        // Assert
+        assertEquals(4, snapshot.size());
+        List<CategoryStatsDTO> byCategory = snapshot.totalsByCategory(ValuationFilter.all());
+        assertEquals(List.of("Clothing", "Electronics", "Garden"), byCategory.stream().map(CategoryStatsDTO::getCategory).toList());
+        assertEquals(2L, byCategory.get(0).getItemCount(), "Updated item should move to its new category");
+        assertEquals(35L, byCategory.get(0).getTotalUnits());
+        assertEquals(1L, byCategory.get(1).getItemCount(), "Removed item should no longer be counted");
+        assertEquals(0L, byCategory.get(1).getTotalUnits());
+    }
+
+    @Test
+    void testParallelScanMatchesSequentialTotals() {
+        // Arrange
+        int rows = ColumnarItemSnapshot.PARALLEL_THRESHOLD * 3 + 17;
+        List<InventoryItemDTO> items = new ArrayList<>(rows);
+        long expectedUnits = 0;
+        long expectedInStock = 0;
+        for (int i = 0; i < rows; i++) {
+            int quantity = i % 25;
+            items.add(item((long) i, "Category " + (i % 7), 1.0 + (i % 500), quantity));
+            expectedUnits += quantity;
+            expectedInStock += quantity >= 10 ? 1 : 0;
+        }
+        snapshot.load(() -> items);
+
+        // Act
+        ValuationDTO all = snapshot.total(ValuationFilter.all());
+        ValuationDTO inStock = snapshot.total(new ValuationFilter(null, null, null, 10, null));
+        List<CategoryStatsDTO> byCategory = snapshot.totalsByCategory(ValuationFilter.all());
+
+        // Assert
+        assertEquals(rows, all.getItemCount());
+        assertEquals(expectedUnits, all.getTotalUnits());
+        assertEquals(expectedInStock, inStock.getItemCount());
+        assertEquals(7, byCategory.size(), "Categories from the previous load should not be reported");
+        assertEquals(rows, byCategory.stream().mapToLong(CategoryStatsDTO::getItemCount).sum());
+    }
+}
@@ -0,0 +1,143 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.DistributionDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.ValueDistributionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistributionSketchTest {
+
+    // Two significant digits bound the relative error of every reported value to 1%
+    private static final double RELATIVE_ERROR = 0.01;
+
+    private InventoryItemDTO item(Long id, String category, double price, int quantity) {
+        InventoryItemDTO item = new InventoryItemDTO();
+        item.setId(id);
+        item.setCategory(category);
+        item.setPrice(price);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private List<InventoryItemDTO> randomItems(int count, long seed) {
+        Random random = new Random(seed);
+        List<InventoryItemDTO> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double price = Math.round(Math.exp(random.nextGaussian() * 1.5 + 3) * 100) / 100.0;
+            items.add(item((long) i, "Category " + random.nextInt(40), price, random.nextInt(5_000)));
+        }
+        return items;
+    }
+
+    private double exactPercentile(double[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    @Test
+    void testPercentilesStayWithinErrorBound() {
+        // Arrange
+        List<InventoryItemDTO> items = randomItems(100_000, 42);
+        DistributionSketch sketch = new DistributionSketch();
+
+        // Act
+        sketch.load(() -> items);
+        DistributionDTO distribution = sketch.summarize();
+
+        // Assert
+        double[] quantities = items.stream().mapToDouble(InventoryItemDTO::getQuantity).sorted().toArray();
+        double[] prices = items.stream().mapToDouble(InventoryItemDTO::getPrice).sorted().toArray();
+        for (String label : List.of("p50", "p75", "p90", "p95", "p99")) {
+            double percentile = Double.parseDouble(label.substring(1));
+            assertEquals(exactPercentile(quantities, percentile), distribution.getQuantity().getPercentiles().get(label),
+                    exactPercentile(quantities, percentile) * RELATIVE_ERROR + 1, "Quantity " + label);
+            assertEquals(exactPercentile(prices, percentile), distribution.getPrice().getPercentiles().get(label),
+                    exactPercentile(prices, percentile) * RELATIVE_ERROR + 0.01, "Price " + label);
+        }
+        assertEquals(100_000L, distribution.getItemCount());
+        assertEquals(40, distribution.getDistinctCategoriesEstimate(), 2);
+        assertEquals(100_000L, distribution.getQuantity().getHistogram().stream()
+                .mapToLong(ValueDistributionDTO.Bucket::getCount).sum(), "Histogram buckets should cover every item");
+    }
+
+    @Test
+    void testFootprintDoesNotGrowWithItemCount() {
+        // Arrange
+        DistributionSketch small = new DistributionSketch();
+        DistributionSketch large = new DistributionSketch();
+
+        // Act
+        small.load(() -> randomItems(1_000, 1));
+        large.load(() -> randomItems(1_000_000, 1));
+
+        // Assert
+        assertTrue(large.getEstimatedFootprintInBytes() < 64 * 1024,
+                "Footprint should stay under 64 KB, was " + large.getEstimatedFootprintInBytes());
+        assertTrue(large.getEstimatedFootprintInBytes() <= 2 * small.getEstimatedFootprintInBytes(),
+                "Footprint should depend on the value range, not the item count");
+    }
+
+    @Test
+    void testIncrementalUpdatesAndRebuild() {
+        // Arrange
+        DistributionSketch sketch = new DistributionSketch();
+        sketch.load(() -> List.of(item(1L, "Electronics", 999.99, 15), item(2L, "Clothing", 19.99, 25)));
+
+        // Act
+        sketch.add(item(3L, "Garden", 5.00, 4));
+        sketch.replace(item(1L, "Electronics", 999.99, 15), item(1L, "Electronics", 899.99, 10));
+        sketch.remove(item(2L, "Clothing", 19.99, 25));
+        DistributionDTO distribution = sketch.summarize();
+
+        // Assert
+        assertEquals(2L, distribution.getItemCount());
+        assertEquals(4.0, distribution.getQuantity().getMin());
+        assertEquals(10.0, distribution.getQuantity().getMax(), "Max should drop once the larger value is removed");
+        assertEquals(900.0, distribution.getPrice().getMax(), 900.0 * RELATIVE_ERROR);
+        assertEquals(3L, distribution.getDistinctCategoriesEstimate(), "Removed categories are counted until a rebuild");
+        assertFalse(sketch.needsRebuild(), "A single removal should not trigger a rebuild");
+    }
+
+    @Test
+    void testItemsWithoutCategory() {
+        // Arrange
+        DistributionSketch sketch = new DistributionSketch();
+        sketch.load(() -> List.of(item(1L, null, 10.00, 5)));
+
+        // Act
+        sketch.replace(item(1L, null, 10.00, 5), item(1L, "Garden", 10.00, 7));
+        sketch.replace(item(1L, "Garden", 10.00, 7), item(1L, null, 10.00, 6));
+        DistributionDTO distribution = sketch.summarize();
+
+        // Assert
+        assertEquals(1L, distribution.getItemCount());
+        assertEquals(6.0, distribution.getQuantity().getMax());
+        assertEquals(1L, distribution.getDistinctCategoriesEstimate(), "Missing categories should not be counted");
+    }
+
+    @Test
+    void testMerge() {
+        // Arrange
+        DistributionSketch left = new DistributionSketch();
+        DistributionSketch right = new DistributionSketch();
+        left.load(() -> randomItems(5_000, 7));
+        right.load(() -> randomItems(5_000, 8));
+        DistributionSketch combined = new DistributionSketch();
+        List<InventoryItemDTO> all = new ArrayList<>(randomItems(5_000, 7));
+        all.addAll(randomItems(5_000, 8));
+        combined.load(() -> all);
+
+        // Act
+        left.merge(right);
+
+        // Assert
+        assertEquals(10_000L, left.summarize().getItemCount());
+        assertEquals(combined.summarize(), left.summarize(), "Merging should equal building from the union");
+    }
+}
@@ -0,0 +1,93 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.FacetedSearchDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex(new double[]{25, 50, 100, 250, 500}, item -> 10);
+        index.load(() -> List.of(
+                item(1L, "Electronics", 999.99, 15),
+                item(2L, "Electronics", 29.99, 8),
+                item(3L, "Electronics", 59.99, 0),
+                item(4L, "Clothing", 19.99, 25),
+                item(5L, "Clothing", 89.99, 8)));
+    }
+
+    private InventoryItemDTO item(Long id, String category, double price, int quantity) {
+        InventoryItemDTO item = new InventoryItemDTO();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setCategory(category);
+        item.setPrice(price);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private List<Long> ids(FacetedSearchDTO result) {
+        return result.getItems().stream().map(InventoryItemDTO::getId).toList();
+    }
+
+    @Test
+    void testUnfilteredSearchCountsEveryFacet() {
+        // Act
+        FacetedSearchDTO result = index.search(null, null, null, 0, 50);
+
+        // Assert
+        assertEquals(5L, result.getTotal());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(result));
+        assertEquals(Map.of("Clothing", 2L, "Electronics", 3L), result.getFacets().get(FacetIndex.CATEGORY));
+        assertEquals(Map.of("IN_STOCK", 2L, "LOW_STOCK", 2L, "OUT_OF_STOCK", 1L),
+                result.getFacets().get(FacetIndex.STOCK_STATUS));
+        assertEquals(List.of("0-25", "25-50", "50-100", "100-250", "250-500", "500+"),
+                List.copyOf(result.getFacets().get(FacetIndex.PRICE_BAND).keySet()));
+        assertEquals(2L, result.getFacets().get(FacetIndex.PRICE_BAND).get("50-100"));
+    }
+
+    @Test
+    void testCombinedFiltersAndDisjunctiveCounts() {
+        // Act
+        FacetedSearchDTO result = index.search(Set.of("Electronics"),
+                Set.of(StockStatus.LOW_STOCK, StockStatus.OUT_OF_STOCK), null, 0, 50);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), ids(result), "Values OR within a facet and AND across facets");
+        assertEquals(Map.of("Clothing", 1L, "Electronics", 2L), result.getFacets().get(FacetIndex.CATEGORY),
+                "Category counts should ignore the category selection itself");
+        assertEquals(Map.of("IN_STOCK", 1L, "LOW_STOCK", 1L, "OUT_OF_STOCK", 1L),
+                result.getFacets().get(FacetIndex.STOCK_STATUS));
+        assertEquals(1L, result.getFacets().get(FacetIndex.PRICE_BAND).get("25-50"));
+        assertEquals(0L, index.search(Set.of("Garden"), null, null, 0, 50).getTotal(), "Unknown values match nothing");
+        assertEquals(List.of(3L), ids(index.search(Set.of("Electronics"), null, Set.of("50-100"), 0, 50)));
+    }
+
+    @Test
+    void testIncrementalUpdatesAndPaging() {
+        // Act
+        index.upsert(item(2L, "Clothing", 29.99, 0));
+        index.remove(1L);
+        index.upsert(item(6L, "Garden", 5.00, 40));
+
+        // Assert
+        FacetedSearchDTO result = index.search(null, null, null, 1, 2);
+        assertEquals(5L, result.getTotal());
+        assertEquals(List.of(3L, 4L), ids(result));
+        assertEquals(Map.of("Clothing", 3L, "Electronics", 1L, "Garden", 1L), result.getFacets().get(FacetIndex.CATEGORY));
+        assertEquals(Map.of("IN_STOCK", 2L, "LOW_STOCK", 1L, "OUT_OF_STOCK", 2L),
+                result.getFacets().get(FacetIndex.STOCK_STATUS));
+        assertEquals(0L, result.getFacets().get(FacetIndex.PRICE_BAND).get("500+"), "Removed item should leave its band");
+        assertTrue(index.search(null, null, null, 10, 2).getItems().isEmpty());
+    }
+}
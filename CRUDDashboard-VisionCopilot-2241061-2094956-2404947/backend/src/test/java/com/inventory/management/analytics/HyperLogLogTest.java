@@ -0,0 +1,65 @@
+package com.inventory.management.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    // Three standard errors of a 2^10-register sketch
+    private static final double ERROR_BOUND = 3 * 1.04 / Math.sqrt(HyperLogLog.REGISTERS);
+
+    @Test
+    void testEstimateStaysWithinErrorBound() {
+        for (int distinct : new int[]{1, 10, 100, 1_000, 10_000, 1_000_000}) {
+            // Arrange
+            HyperLogLog sketch = new HyperLogLog();
+
+            // Act: add every value twice, duplicates must not count
+            for (int i = 0; i < distinct; i++) {
+                sketch.add("Category " + i);
+                sketch.add("Category " + i);
+            }
+
+            // Assert
+            double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+            assertTrue(error <= ERROR_BOUND, "Estimate " + sketch.estimate() + " for " + distinct
+                    + " distinct values exceeds the error bound");
+        }
+    }
+
+    @Test
+    void testMergeEstimatesTheUnion() {
+        // Arrange
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        for (int i = 0; i < 6_000; i++) {
+            left.add("Item " + i);
+        }
+        for (int i = 4_000; i < 10_000; i++) {
+            right.add("Item " + i);
+        }
+
+        // Act
+        left.merge(right);
+
+        // Assert
+        assertEquals(10_000, left.estimate(), 10_000 * ERROR_BOUND);
+    }
+
+    @Test
+    void testFootprintIsFixed() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+        long empty = sketch.getEstimatedFootprintInBytes();
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add("Item " + i);
+        }
+
+        // Assert
+        assertEquals(1024, empty);
+        assertEquals(empty, sketch.getEstimatedFootprintInBytes(), "Footprint should not grow with the input");
+    }
+}
@@ -0,0 +1,108 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.LeaderboardEntryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemLeaderboardTest {
+
+    private static final long TODAY = 20_000;
+
+    private ItemLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new ItemLeaderboard();
+        leaderboard.load(() -> List.of(
+                item(1L, 999.99, 15),
+                item(2L, 29.99, 8),
+                item(3L, 59.99, 0),
+                item(4L, 19.99, 25)));
+    }
+
+    private InventoryItemDTO item(Long id, double price, int quantity) {
+        InventoryItemDTO item = new InventoryItemDTO();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setSku("SKU-" + id);
+        item.setCategory("General");
+        item.setPrice(price);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private List<Long> ids(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getId).toList();
+    }
+
+    @Test
+    void testTopByStockValue() {
+        // Act
+        leaderboard.upsert(item(3L, 59.99, 100));
+        leaderboard.remove(1L);
+
+        // Assert
+        List<LeaderboardEntryDTO> top = leaderboard.topByStockValue(2);
+        assertEquals(List.of(3L, 4L), ids(top), "Restocked item should rank first, removed item should be gone");
+        assertEquals(5999.0, top.get(0).getScore(), 0.001);
+        assertEquals("Item 3", top.get(0).getName());
+        assertEquals(3, leaderboard.topByStockValue(10).size());
+    }
+
+    @Test
+    void testTopByUnitsMovedUsesRollingWindow() {
+        // Act
+        leaderboard.recordUnitsMoved(1L, 5, TODAY - 6);
+        leaderboard.recordUnitsMoved(2L, 3, TODAY - 1);
+        leaderboard.recordUnitsMoved(2L, 3, TODAY);
+        leaderboard.recordUnitsMoved(4L, -10, TODAY);
+        leaderboard.recordUnitsMoved(42L, 10, TODAY);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), ids(leaderboard.topByUnitsMoved(20, TODAY)),
+                "Restocks and unknown items should not count as moved");
+        assertEquals(6.0, leaderboard.topByUnitsMoved(20, TODAY).get(0).getScore());
+        assertEquals(List.of(2L), ids(leaderboard.topByUnitsMoved(20, TODAY + 1)),
+                "Movement older than the window should expire");
+        assertEquals(3.0, leaderboard.topByUnitsMoved(20, TODAY + 6).get(0).getScore(),
+                "Only today's movement should remain six days later");
+        assertTrue(leaderboard.topByUnitsMoved(20, TODAY + 30).isEmpty());
+    }
+
+    @Test
+    void testMatchesFullSortAfterRandomUpdates() {
+        // Arrange
+        Random random = new Random(7);
+        List<InventoryItemDTO> items = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            items.add(item(id, random.nextInt(10_000) / 100.0, random.nextInt(100)));
+        }
+        leaderboard.load(() -> items);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            int index = random.nextInt(items.size());
+            InventoryItemDTO updated = item(items.get(index).getId(), random.nextInt(10_000) / 100.0, random.nextInt(100));
+            items.set(index, updated);
+            leaderboard.upsert(updated);
+        }
+
+        // Assert
+        List<Long> expected = items.stream()
+                .sorted(Comparator.comparingDouble((InventoryItemDTO item) -> item.getPrice() * item.getQuantity())
+                        .reversed()
+                        .thenComparing(InventoryItemDTO::getId))
+                .limit(20)
+                .map(InventoryItemDTO::getId)
+                .toList();
+        assertEquals(expected, ids(leaderboard.topByStockValue(20)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.inventory.management.analytics;
+
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.ReorderItemDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReorderIndexTest {
+
+    private ReorderIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReorderIndex();
+        index.load(() -> List.of(item(1L, 0), item(2L, 8), item(3L, 25), item(4L, 3)), item -> 10);
+    }
+
+    private InventoryItemDTO item(Long id, int quantity) {
+        InventoryItemDTO item = new InventoryItemDTO();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setCategory("General");
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    @Test
+    void testMostUrgentOrderedByShortfall() {
+        // Act
+        List<ReorderItemDTO> urgent = index.mostUrgent(10);
+
+        // Assert
+        assertEquals(List.of(1L, 4L, 2L), urgent.stream().map(ReorderItemDTO::getId).toList(),
+                "Items above their reorder point should be skipped");
+        assertEquals(10, urgent.get(0).getShortfall());
+        assertEquals(10, urgent.get(0).getReorderPoint());
+        assertEquals(2, index.mostUrgent(2).size());
+    }
+
+    @Test
+    void testUpdatesMoveItemsAcrossTheReorderPoint() {
+        // Act
+        index.update(item(3L, 9), 10);
+        index.update(item(3L, 5), 10);
+        index.update(item(1L, 10), 10);
+        index.update(item(2L, 8), 5);
+        index.remove(4L);
+
+        // Assert - item 1 recovered and item 2 was cleared by its lower reorder point
+        List<ReorderItemDTO> urgent = index.mostUrgent(10);
+        assertEquals(List.of(3L), urgent.stream().map(ReorderItemDTO::getId).toList());
+        assertEquals(5, urgent.get(0).getShortfall(), "The latest quantity should be ranked");
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,127 @@
+package com.inventory.management.cluster;
+
+import com.inventory.management.analytics.ValuationFilter;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.service.InventoryService;
+import com.inventory.management.service.ValuationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Polls are driven by the tests; the background poller is effectively off
+@SpringBootTest(properties = {
+        "inventory.cache.invalidation.enabled=true",
+        "inventory.cache.invalidation.poll-interval=1h"
+})
+public class CacheInvalidationTest {
+
+    private static final String OTHER_NODE = "other-node";
+
+    @Autowired
+    private InvalidationPoller poller;
+
+    @Autowired
+    private CacheInvalidationProperties properties;
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        poller.poll();
+    }
+
+    @Test
+    void testWriteOnAnotherNodeInvalidatesLocalCaches() {
+        // Arrange
+        Long itemId = inventoryService.createItem(new InventoryItemDTO(null, "Restocked", "CLUSTER-" + System.nanoTime(),
+                "Cluster", 5.0, 3, null, null)).getId();
+        poller.poll();
+        long unitsBefore = valuationService.getValuation(ValuationFilter.all()).getTotalUnits();
+        long lagCountBefore = meterRegistry.timer(InvalidationPoller.LAG_METRIC).count();
+
+        // Act - another node restocks the item and logs the write in the same transaction
+        jdbcTemplate.update("UPDATE inventory_items SET quantity = quantity + 100 WHERE id = ?", itemId);
+        logInvalidation(OTHER_NODE, 1L);
+        long unitsBeforePoll = valuationService.getValuation(ValuationFilter.all()).getTotalUnits();
+        poller.poll();
+
+        // Assert
+        assertEquals(unitsBefore, unitsBeforePoll, "The snapshot is stale until the log is polled");
+        assertEquals(unitsBefore + 100, valuationService.getValuation(ValuationFilter.all()).getTotalUnits());
+        assertEquals(lagCountBefore + 1, meterRegistry.timer(InvalidationPoller.LAG_METRIC).count());
+    }
+
+    @Test
+    void testOwnWritesAreLoggedButNotReapplied() {
+        // Arrange
+        double receivedBefore = meterRegistry.counter(InvalidationPoller.RECEIVED_METRIC).count();
+        InventoryItemDTO dto = new InventoryItemDTO(null, "Logged", "CLUSTER-" + System.nanoTime(), "Cluster",
+                5.0, 3, null, null);
+
+        // Act
+        inventoryService.createItem(dto);
+        poller.poll();
+
+        // Assert
+        Integer ownEntries = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cache_invalidations WHERE node_id = ?", Integer.class, properties.getNodeId());
+        assertTrue(ownEntries >= 1, "The write should be logged for the other nodes");
+        assertEquals(receivedBefore, meterRegistry.counter(InvalidationPoller.RECEIVED_METRIC).count());
+    }
+
+    @Test
+    void testEntryCommittedOutOfIdOrderIsNotMissed() throws Exception {
+        // Arrange
+        double receivedBefore = meterRegistry.counter(InvalidationPoller.RECEIVED_METRIC).count();
+
+        try (Connection slowWriter = dataSource.getConnection()) {
+            // Act - the slow transaction takes a lower id but commits after a later entry was polled
+            slowWriter.setAutoCommit(false);
+            try (PreparedStatement insert = slowWriter.prepareStatement(
+                    "INSERT INTO cache_invalidations (node_id, manager_id, created_at) VALUES (?, ?, ?)")) {
+                insert.setString(1, OTHER_NODE);
+                insert.setLong(2, 1L);
+                insert.setTimestamp(3, Timestamp.from(Instant.now()));
+                insert.executeUpdate();
+            }
+            logInvalidation(OTHER_NODE, 2L);
+            poller.poll();
+            double receivedBeforeCommit = meterRegistry.counter(InvalidationPoller.RECEIVED_METRIC).count();
+            slowWriter.commit();
+            poller.poll();
+
+            // Assert
+            assertEquals(receivedBefore + 1, receivedBeforeCommit);
+            assertEquals(receivedBefore + 2, meterRegistry.counter(InvalidationPoller.RECEIVED_METRIC).count());
+        }
+    }
+
+    private void logInvalidation(String nodeId, Long managerId) {
+        jdbcTemplate.update("INSERT INTO cache_invalidations (node_id, manager_id, created_at) VALUES (?, ?, ?)",
+                nodeId, managerId, Timestamp.from(Instant.now()));
+    }
+}
@@ -0,0 +1,133 @@
+package com.inventory.management.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter(SingleFlight.REQUESTS_METRIC, "flight", "test", "result", result).count();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneComputation() throws Exception {
+        // Arrange
+        SingleFlight<String> singleFlight = new SingleFlight<>("test", Duration.ZERO, meterRegistry);
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<List<Integer>> leader = executor.submit(() -> singleFlight.execute("dashboard", () -> {
+            started.countDown();
+            await(release);
+            return List.of(computations.incrementAndGet());
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<Future<List<Integer>>> followers = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("dashboard",
+                    () -> List.of(computations.incrementAndGet()))));
+        }
+        while (requests("joined") < 15) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        List<Integer> result = leader.get(5, TimeUnit.SECONDS);
+        for (Future<List<Integer>> follower : followers) {
+            assertSame(result, follower.get(5, TimeUnit.SECONDS), "Followers should get the leader's result");
+        }
+        assertEquals(1, computations.get(), "Only the leader should compute");
+        assertEquals(1.0, requests("computed"));
+        assertEquals(15.0, requests("joined"));
+        // Without a reuse window the next call computes again
+        assertEquals(List.of(2), singleFlight.execute("dashboard", () -> List.of(computations.incrementAndGet())));
+    }
+
+    @Test
+    void testResultIsReusedWithinWindowUntilForgotten() throws Exception {
+        // Arrange
+        SingleFlight<String> singleFlight = new SingleFlight<>("test", Duration.ofMillis(200), meterRegistry);
+        AtomicInteger computations = new AtomicInteger();
+
+        // Act & Assert
+        assertEquals(1, singleFlight.execute("search:tools", computations::incrementAndGet));
+        assertEquals(1, singleFlight.execute("search:tools", computations::incrementAndGet), "Reused within the window");
+        assertEquals(2, singleFlight.execute("search:desks", computations::incrementAndGet), "Other keys compute");
+        assertEquals(1.0, requests("reused"));
+
+        singleFlight.forget(key -> key.equals("search:tools"));
+        assertEquals(3, singleFlight.execute("search:tools", computations::incrementAndGet), "Forgotten results are recomputed");
+
+        Thread.sleep(400);
+        assertEquals(4, singleFlight.execute("search:tools", computations::incrementAndGet), "Expired results are recomputed");
+        assertEquals(1.0, meterRegistry.get(SingleFlight.FLIGHTS_METRIC).gauge().value(),
+                "Expired results should be released");
+    }
+
+    @Test
+    void testFailureIsSharedButNotReused() throws Exception {
+        // Arrange
+        SingleFlight<String> singleFlight = new SingleFlight<>("test", Duration.ofMinutes(1), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("stats", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("stats", () -> "unused"));
+        while (requests("joined") < 1) {
+            Thread.sleep(1);
+        }
+
+        // Act
+        release.countDown();
+
+        // Assert
+        for (Future<Object> caller : List.of(leader, follower)) {
+            Exception failure = assertThrows(Exception.class, () -> caller.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        }
+        assertEquals("recovered", singleFlight.execute("stats", () -> "recovered"), "Failures should not be reused");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.inventory.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.management.dto.BatchOperationDTO;
+import com.inventory.management.dto.BatchRequestDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.service.InventoryService;
+import com.inventory.management.support.PerformanceBudget;
+import com.inventory.management.support.QueryCounter;
+import com.inventory.management.support.QueryCountingConfig;
+import com.inventory.management.tenant.TenantContext;
+import com.inventory.management.tenant.TenantFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountingConfig.class)
+public class BatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // A manager of its own, so other tests sharing this context keep their catalog sizes
+    private long managerId;
+    private final List<InventoryItemDTO> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        managerId = 48_000 + System.nanoTime() % 1_000_000;
+        jdbcTemplate.update("INSERT INTO store_managers (id, name, email, password_hash) VALUES (?, ?, ?, ?)",
+                managerId, "Manager " + managerId, "manager-" + managerId + "@inventoryhub.com", "-");
+        items.clear();
+        for (int i = 0; i < 20; i++) {
+            items.add(TenantContext.callAs(managerId, () -> inventoryService.convertToDTO(
+                    inventoryService.createItem(item("Existing")))));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM activity_log WHERE manager_id = ?", managerId);
+        jdbcTemplate.update("DELETE FROM inventory_items WHERE manager_id = ?", managerId);
+    }
+
+    @Test
+    void testAtomicBatchIsSentAsJdbcBatches() throws Exception {
+        // Arrange
+        List<BatchOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            operations.add(new BatchOperationDTO(BatchOperationDTO.Type.CREATE, null, item("Received")));
+        }
+        for (InventoryItemDTO existing : items.subList(0, 10)) {
+            existing.setQuantity(existing.getQuantity() + 5);
+            operations.add(new BatchOperationDTO(BatchOperationDTO.Type.UPDATE, existing.getId(), existing));
+        }
+        for (InventoryItemDTO existing : items.subList(10, 15)) {
+            operations.add(new BatchOperationDTO(BatchOperationDTO.Type.DELETE, existing.getId(), null));
+        }
+
+        // Act
+        PerformanceBudget budget = PerformanceBudget.measure(queryCounter,
+                entityManagerFactory.unwrap(SessionFactory.class).getStatistics(),
+                () -> perform(new BatchRequestDTO(true, operations))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.committed").value(true))
+                        .andExpect(jsonPath("$.results.length()").value(35))
+                        .andExpect(jsonPath("$.results[0].status").value(201))
+                        .andExpect(jsonPath("$.results[20].status").value(200))
+                        .andExpect(jsonPath("$.results[20].item.quantity").value(items.get(0).getQuantity()))
+                        .andExpect(jsonPath("$.results[30].status").value(204)));
+
+        // Assert - one query for the touched items, the manager, id blocks and one batch per statement type
+        budget.assertQueriesAtMost(10);
+        assertEquals(35, count("SELECT COUNT(*) FROM inventory_items WHERE manager_id = ?"));
+        assertEquals(20, count("SELECT COUNT(*) FROM inventory_items WHERE manager_id = ? AND name = 'Received'"));
+    }
+
+    @Test
+    void testFailedOperationRollsBackAtomicBatch() throws Exception {
+        // Arrange
+        List<BatchOperationDTO> operations = List.of(
+                new BatchOperationDTO(BatchOperationDTO.Type.CREATE, null, item("Rolled Back")),
+                new BatchOperationDTO(BatchOperationDTO.Type.UPDATE, Long.MAX_VALUE, item("Missing")),
+                new BatchOperationDTO(BatchOperationDTO.Type.DELETE, items.get(0).getId(), null));
+
+        // Act & Assert
+        perform(new BatchRequestDTO(true, operations))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.committed").value(false))
+                .andExpect(jsonPath("$.results[0].status").value(424))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[2].status").value(424));
+        assertEquals(0, count("SELECT COUNT(*) FROM inventory_items WHERE manager_id = ? AND name = 'Rolled Back'"));
+        assertEquals(20, count("SELECT COUNT(*) FROM inventory_items WHERE manager_id = ?"));
+    }
+
+    @Test
+    void testIndividualOperationsFailIndependently() throws Exception {
+        // Arrange
+        InventoryItemDTO duplicate = item("Duplicate");
+        duplicate.setSku(items.get(0).getSku());
+        List<BatchOperationDTO> operations = List.of(
+                new BatchOperationDTO(BatchOperationDTO.Type.CREATE, null, item("Kept")),
+                new BatchOperationDTO(BatchOperationDTO.Type.DELETE, Long.MAX_VALUE, null),
+                new BatchOperationDTO(BatchOperationDTO.Type.CREATE, null, duplicate),
+                new BatchOperationDTO(null, null, null));
+
+        // Act & Assert
+        perform(new BatchRequestDTO(false, operations))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[2].status").value(409))
+                .andExpect(jsonPath("$.results[3].status").value(400));
+        assertEquals(1, count("SELECT COUNT(*) FROM inventory_items WHERE manager_id = ? AND name = 'Kept'"));
+    }
+
+    private ResultActions perform(BatchRequestDTO request) throws Exception {
+        return mockMvc.perform(post("/api/batch").header(TenantFilter.HEADER, managerId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, managerId);
+    }
+
+    private static InventoryItemDTO item(String name) {
+        return new InventoryItemDTO(null, name, "BATCH-" + System.nanoTime(), "Batch", 4.5, 10, null, null);
+    }
+}
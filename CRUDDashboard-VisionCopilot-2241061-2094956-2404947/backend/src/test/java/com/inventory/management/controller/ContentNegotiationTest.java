@@ -0,0 +1,176 @@
+package com.inventory.management.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.management.dto.DashboardStatsDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final TypeReference<List<InventoryItemDTO>> ITEM_LIST = new TypeReference<>() {
+    };
+    private static final int ENCODED_ITEMS = 10_000;
+    private static final int BENCHMARK_ITEMS = 100_000;
+    private static final int BENCHMARK_ROUNDS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void testItemListIsJsonByDefault() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testItemListInBinaryFormatsMatchesJson() throws Exception {
+        // Arrange
+        List<InventoryItemDTO> json = objectMapper.readValue(
+                fetch("/api/inventory", MediaType.APPLICATION_JSON), ITEM_LIST);
+
+        // Act
+        byte[] cbor = fetch("/api/inventory", MediaType.APPLICATION_CBOR);
+        byte[] smile = fetch("/api/inventory", SMILE);
+
+        // Assert
+        assertFalse(json.isEmpty());
+        assertEquals(json, cborConverter.getObjectMapper().readValue(cbor, ITEM_LIST));
+        assertEquals(json, smileConverter.getObjectMapper().readValue(smile, ITEM_LIST));
+    }
+
+    @Test
+    void testDashboardInCbor() throws Exception {
+        // Act
+        byte[] cbor = fetch("/api/inventory/dashboard", MediaType.APPLICATION_CBOR);
+
+        // Assert
+        DashboardStatsDTO stats = cborConverter.getObjectMapper().readValue(cbor, DashboardStatsDTO.class);
+        assertEquals(stats.getTotalItems().intValue(), stats.getItems().size());
+    }
+
+    @Test
+    void testBinaryFormatsAreSmallerThanJson() throws Exception {
+        // Arrange
+        List<InventoryItemDTO> items = items(ENCODED_ITEMS);
+
+        // Act
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> format : formats().entrySet()) {
+            byte[] encoded = format.getValue().writeValueAsBytes(items);
+            assertEquals(items, format.getValue().readValue(encoded, ITEM_LIST), format.getKey() + " should round-trip");
+            sizes.put(format.getKey(), encoded.length);
+        }
+
+        // Assert
+        assertTrue(sizes.get("cbor") < sizes.get("json"));
+        assertTrue(sizes.get("smile") < sizes.get("cbor"));
+    }
+
+    // Opt-in: mvn test -Dtest=ContentNegotiationTest -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void testEncodingBenchmark() throws Exception {
+        // Arrange
+        List<InventoryItemDTO> items = items(BENCHMARK_ITEMS);
+
+        // Act
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        Map<String, Integer> gzipSizes = new LinkedHashMap<>();
+        System.out.printf("%-6s %12s %12s %10s %10s%n", "format", "bytes", "gzip bytes", "encode ms", "decode ms");
+        for (Map.Entry<String, ObjectMapper> format : formats().entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            byte[] encoded = null;
+            List<InventoryItemDTO> decoded = null;
+            long encodeNanos = Long.MAX_VALUE;
+            long decodeNanos = Long.MAX_VALUE;
+            // Best of several rounds, so the first rounds warm up the serializers
+            for (int round = 0; round < BENCHMARK_ROUNDS; round++) {
+                long start = System.nanoTime();
+                encoded = mapper.writeValueAsBytes(items);
+                encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+                start = System.nanoTime();
+                decoded = mapper.readValue(encoded, ITEM_LIST);
+                decodeNanos = Math.min(decodeNanos, System.nanoTime() - start);
+            }
+            assertEquals(items, decoded, format.getKey() + " should round-trip");
+            sizes.put(format.getKey(), encoded.length);
+            gzipSizes.put(format.getKey(), gzip(encoded).length);
+            System.out.printf("%-6s %12d %12d %10.1f %10.1f%n", format.getKey(), encoded.length,
+                    gzipSizes.get(format.getKey()), encodeNanos / 1e6, decodeNanos / 1e6);
+        }
+
+        // Assert
+        assertTrue(sizes.get("cbor") < sizes.get("json"));
+        assertTrue(sizes.get("smile") < sizes.get("cbor"));
+        gzipSizes.forEach((format, size) -> assertTrue(size < sizes.get(format), format + " should compress"));
+    }
+
+    private static List<InventoryItemDTO> items(int count) {
+        List<InventoryItemDTO> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            items.add(new InventoryItemDTO(id, "Item " + id, "SKU-" + id, "Category " + (id % 20),
+                    1 + (id % 1000) / 10.0, (int) (id % 250), null, id % 3 == 0 ? 15 : null));
+        }
+        return items;
+    }
+
+    private Map<String, ObjectMapper> formats() {
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", objectMapper);
+        formats.put("cbor", cborConverter.getObjectMapper());
+        formats.put("smile", smileConverter.getObjectMapper());
+        return formats;
+    }
+
+    private byte[] fetch(String path, MediaType mediaType) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn();
+        return result.getResponse().getContentAsByteArray();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
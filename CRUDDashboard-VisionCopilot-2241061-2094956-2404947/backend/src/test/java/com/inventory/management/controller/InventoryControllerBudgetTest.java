@@ -0,0 +1,522 @@
+package com.inventory.management.controller;
+
+import com.inventory.management.coalescing.ReadCoalescer;
+import com.inventory.management.coalescing.SingleFlight;
+import com.inventory.management.dto.DashboardStatsDTO;
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.model.InventoryItem;
+import com.inventory.management.model.StoreManager;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.repository.StoreManagerRepository;
+import com.inventory.management.service.InventoryService;
+import com.inventory.management.support.PerformanceBudget;
+import com.inventory.management.support.QueryCounter;
+import com.inventory.management.support.QueryCountingConfig;
+import com.inventory.management.tenant.TenantContext;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query-count and latency budgets for every InventoryController endpoint. A change that adds
+ * statements per row (N+1) or loads entities it does not need fails these tests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountingConfig.class)
+public class InventoryControllerBudgetTest {
+
+    private static final int CATALOG_SIZE = 1000;
+    private static final Duration WALL_TIME_BUDGET = Duration.ofSeconds(2);
+    private static final Duration SKU_SCAN_BUDGET = Duration.ofMillis(20);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Autowired
+    private StoreManagerRepository storeManagerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReadCoalescer readCoalescer;
+
+    private Statistics statistics;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        StoreManager manager = storeManagerRepository.findById(1L).orElseThrow();
+        long existing = inventoryItemRepository.count();
+        List<InventoryItem> items = new ArrayList<>();
+        for (long i = existing; i < CATALOG_SIZE; i++) {
+            InventoryItem item = new InventoryItem();
+            item.setManager(manager);
+            item.setName("Budget Item " + i);
+            item.setSku("BUDGET-" + i);
+            item.setCategory("Category " + (i % 7));
+            item.setPrice(1.0 + i);
+            item.setQuantity((int) (i % 25));
+            items.add(item);
+        }
+        inventoryItemRepository.saveAll(items);
+        itemId = inventoryItemRepository.findByManagerId(1L).get(0).getId();
+    }
+
+    private PerformanceBudget measure(PerformanceBudget.Action action) throws Exception {
+        // Warm up so the budget measures steady state rather than first-call initialization
+        action.run();
+        return PerformanceBudget.measure(queryCounter, statistics, action);
+    }
+
+    private String itemJson(String sku, int quantity) {
+        return "{\"name\":\"Budget Widget\",\"sku\":\"" + sku + "\",\"category\":\"Tools\",\"price\":9.99,\"quantity\":"
+                + quantity + "}";
+    }
+
+    @Test
+    void testListItemsBudget() throws Exception {
+        measure(() -> mockMvc.perform(get("/api/inventory")).andExpect(status().isOk()))
+                .assertQueriesAtMost(1)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testSparseFieldsetBudget() throws Exception {
+        measure(() -> mockMvc.perform(get("/api/inventory").param("fields", "id,sku,quantity"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sku").exists())
+                .andExpect(jsonPath("$[0].name").doesNotExist()))
+                .assertQueriesAtMost(1)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+        // The columns are narrowed in the statement itself
+        String statement = queryCounter.getStatements().get(0).toLowerCase();
+        assertFalse(statement.contains("image_url") || statement.contains("name"), statement);
+
+        mockMvc.perform(get("/api/inventory").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testDashboardBudget() throws Exception {
+        measure(() -> mockMvc.perform(get("/api/inventory/dashboard")).andExpect(status().isOk()))
+                .assertQueriesAtMost(4)
+                .assertEntityLoadsAtMost(10)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testConcurrentDashboardsAreCoalesced() throws Exception {
+        // Arrange - a dashboard computation for the default manager that runs until released
+        readCoalescer.onCachesInvalidated(new CachesInvalidatedEvent(Set.of(TenantContext.DEFAULT_MANAGER_ID)));
+        int followers = 20;
+        double joinedBefore = dashboardRequests("joined");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DashboardStatsDTO shared = new DashboardStatsDTO(-1L, 0L, 0L, List.of(), List.of());
+        ExecutorService executor = Executors.newFixedThreadPool(followers + 1);
+        try {
+            Future<DashboardStatsDTO> leader = executor.submit(() -> TenantContext.callAs(TenantContext.DEFAULT_MANAGER_ID,
+                    () -> readCoalescer.coalesce(ReadCoalescer.DASHBOARD, List.of(), () -> {
+                        started.countDown();
+                        await(release);
+                        return shared;
+                    })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act
+            PerformanceBudget budget = PerformanceBudget.measure(queryCounter, statistics, () -> {
+                List<Future<?>> requests = new ArrayList<>();
+                for (int i = 0; i < followers; i++) {
+                    requests.add(executor.submit(() -> mockMvc.perform(get("/api/inventory/dashboard"))
+                            .andExpect(status().isOk())
+                            .andExpect(jsonPath("$.totalItems").value(-1))));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (dashboardRequests("joined") - joinedBefore < followers && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+                release.countDown();
+                for (Future<?> request : requests) {
+                    request.get(30, TimeUnit.SECONDS);
+                }
+            });
+
+            // Assert - every request got the running computation's result without a query of its own
+            assertSame(shared, leader.get(5, TimeUnit.SECONDS));
+            budget.assertQueriesAtMost(0);
+            assertEquals(followers, dashboardRequests("joined") - joinedBefore, 0.0);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            // The placeholder result must not be reused by other tests
+            readCoalescer.onCachesInvalidated(new CachesInvalidatedEvent(Set.of(TenantContext.DEFAULT_MANAGER_ID)));
+        }
+    }
+
+    @Test
+    void testWriteDropsCoalescedDashboard() throws Exception {
+        // Arrange
+        long totalItems = ((Number) JsonPath.read(mockMvc.perform(get("/api/inventory/dashboard"))
+                .andReturn().getResponse().getContentAsString(), "$.totalItems")).longValue();
+
+        // Act
+        String created = mockMvc.perform(post("/api/inventory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemJson("BUDGET-COALESCED", 1)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        try {
+            // Assert - within the reuse window, yet the writer sees its item straight away
+            mockMvc.perform(get("/api/inventory/dashboard"))
+                    .andExpect(jsonPath("$.totalItems").value(totalItems + 1));
+        } finally {
+            mockMvc.perform(delete("/api/inventory/{id}", ((Number) JsonPath.read(created, "$.id")).longValue()))
+                    .andExpect(status().isNoContent());
+        }
+    }
+
+    private double dashboardRequests(String result) {
+        Counter counter = meterRegistry.find(SingleFlight.REQUESTS_METRIC)
+                .tags("flight", ReadCoalescer.DASHBOARD, "result", result).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testSearchBudget() throws Exception {
+        measure(() -> mockMvc.perform(get("/api/inventory/search").param("query", "item 1"))
+                .andExpect(status().isOk()))
+                .assertQueriesAtMost(1)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testGetItemBudget() throws Exception {
+        measure(() -> mockMvc.perform(get("/api/inventory/{id}", itemId)).andExpect(status().isOk()))
+                .assertQueriesAtMost(1)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testBatchGetBudget() throws Exception {
+        List<Long> ids = inventoryItemRepository.findByManagerId(1L).stream().map(InventoryItem::getId).limit(50).toList();
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(1, Long.MAX_VALUE);
+        requested.add(ids.get(0));
+
+        measure(() -> mockMvc.perform(post("/api/inventory/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requested.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(requested.size()))
+                .andExpect(jsonPath("$[0].id").value(ids.get(0)))
+                .andExpect(jsonPath("$[1].id").value(Long.MAX_VALUE))
+                .andExpect(jsonPath("$[1].notFound").value(true))
+                .andExpect(jsonPath("$[2].id").value(ids.get(1)))
+                .andExpect(jsonPath("$[51].id").value(ids.get(0))))
+                .assertQueriesAtMost(1)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+
+        mockMvc.perform(post("/api/inventory/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(Collections.nCopies(InventoryService.MAX_BATCH_GET + 1, itemId).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCreateItemBudget() throws Exception {
+        // Load the SKU map used for the uniqueness check outside the measurement
+        mockMvc.perform(get("/api/inventory/sku/{sku}", "BUDGET-100")).andExpect(status().isOk());
+        PerformanceBudget budget = PerformanceBudget.measure(queryCounter, statistics,
+                () -> mockMvc.perform(post("/api/inventory")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(itemJson("BUDGET-NEW", 5)))
+                        .andExpect(status().isCreated()));
+        // The item and its activity entry; the manager is only referenced by id
+        budget.excludingIdBlockFetches()
+                .assertQueriesAtMost(2)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testUpdateItemBudget() throws Exception {
+        int[] quantity = {0};
+        measure(() -> mockMvc.perform(put("/api/inventory/{id}", itemId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(itemJson("BUDGET-0", ++quantity[0])))
+                        .andExpect(status().isOk()))
+                .assertQueriesAtMost(4)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testPatchItemBudget() throws Exception {
+        int[] quantity = {0};
+        measure(() -> mockMvc.perform(patch("/api/inventory/{id}", itemId)
+                                .contentType("application/merge-patch+json")
+                                .content("{\"quantity\":" + (++quantity[0] + 1000) + "}"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.quantity").value(quantity[0] + 1000)))
+                .excludingIdBlockFetches()
+                .assertQueriesAtMost(3)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+        // Only the changed column is written
+        String update = queryCounter.getStatements().stream()
+                .map(String::toLowerCase)
+                .filter(statement -> statement.startsWith("update inventory_items"))
+                .findFirst().orElseThrow();
+        assertTrue(update.contains("quantity"), update);
+        assertFalse(update.contains("name") || update.contains("image_url"), update);
+
+        // Re-sending the same patch reads the row and writes nothing
+        PerformanceBudget.measure(queryCounter, statistics,
+                        () -> mockMvc.perform(patch("/api/inventory/{id}", itemId)
+                                        .contentType("application/merge-patch+json")
+                                        .content("{\"quantity\":" + (quantity[0] + 1000) + "}"))
+                                .andExpect(status().isOk()))
+                .assertQueriesAtMost(1);
+
+        mockMvc.perform(patch("/api/inventory/{id}", itemId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"sku\":null}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/inventory/{id}", itemId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"manager\":2}"))
+                .andExpect(status().isBadRequest());
+        // null clears an optional column
+        mockMvc.perform(patch("/api/inventory/{id}", itemId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"imageUrl\":\"https://example.com/item.png\"}"))
+                .andExpect(jsonPath("$.imageUrl").value("https://example.com/item.png"));
+        mockMvc.perform(patch("/api/inventory/{id}", itemId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"imageUrl\":null}"))
+                .andExpect(status().isOk());
+        assertNull(inventoryItemRepository.findById(itemId).orElseThrow().getImageUrl());
+        for (String invalid : new String[]{"{\"quantity\":-3}", "{\"name\":\"\"}"}) {
+            mockMvc.perform(patch("/api/inventory/{id}", itemId)
+                            .contentType("application/merge-patch+json")
+                            .content(invalid))
+                    .andExpect(status().isBadRequest());
+        }
+        assertEquals(quantity[0] + 1000, inventoryItemRepository.findById(itemId).orElseThrow().getQuantity(),
+                "Rejected patches should not be written");
+    }
+
+    @Test
+    void testDeleteItemBudget() throws Exception {
+        Long deletableId = inventoryItemRepository.findByManagerId(1L).get(1).getId();
+        PerformanceBudget.measure(queryCounter, statistics,
+                        () -> mockMvc.perform(delete("/api/inventory/{id}", deletableId))
+                                .andExpect(status().isNoContent()))
+                .assertQueriesAtMost(4)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testSkuLookupBudget() throws Exception {
+        // Each scan resolves the id in memory and reads one row by primary key
+        int scans = 200;
+        PerformanceBudget budget = measure(() -> {
+            for (int i = 0; i < scans; i++) {
+                mockMvc.perform(get("/api/inventory/sku/{sku}", "BUDGET-" + (100 + i)))
+                        .andExpect(status().isOk());
+            }
+        });
+        budget.assertQueriesAtMost(scans)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(SKU_SCAN_BUDGET.multipliedBy(scans));
+
+        mockMvc.perform(get("/api/inventory/sku/{sku}", "NOPE-404")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDuplicateSkuIsRejected() throws Exception {
+        mockMvc.perform(post("/api/inventory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemJson("BUDGET-500", 5)))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/inventory/{id}", itemId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemJson("BUDGET-501", 5)))
+                .andExpect(status().isConflict());
+
+        // A racing writer's row that the SKU map has not seen is caught by the unique constraint
+        mockMvc.perform(get("/api/inventory/sku/{sku}", "BUDGET-100")).andExpect(status().isOk());
+        InventoryItem racing = new InventoryItem();
+        racing.setManager(storeManagerRepository.findById(1L).orElseThrow());
+        racing.setName("Racing Widget");
+        racing.setSku("BUDGET-RACE");
+        racing.setCategory("Tools");
+        racing.setPrice(9.99);
+        racing.setQuantity(5);
+        inventoryItemRepository.save(racing);
+        try {
+            mockMvc.perform(post("/api/inventory")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(itemJson("BUDGET-RACE", 5)))
+                    .andExpect(status().isConflict());
+        } finally {
+            inventoryItemRepository.delete(racing);
+        }
+    }
+
+    @Test
+    void testFacetedSearchBudget() throws Exception {
+        // Filtered and counted on the bitmap index once it is built
+        measure(() -> mockMvc.perform(get("/api/inventory/facets")
+                                .param("category", "Category 1", "Category 2")
+                                .param("stockStatus", "LOW_STOCK")
+                                .param("priceBand", "100-250"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.facets.category['Category 1']").exists()))
+                .assertQueriesAtMost(0)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+
+        mockMvc.perform(get("/api/inventory/facets").param("stockStatus", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testReorderListBudget() throws Exception {
+        // Served from the reorder index once it is built
+        measure(() -> mockMvc.perform(get("/api/inventory/reorder").param("limit", "20"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(20))
+                        .andExpect(jsonPath("$[0].shortfall").value(10)))
+                .assertQueriesAtMost(0)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testCategoryStatsBudget() throws Exception {
+        // Served from the cache after the warm-up call
+        measure(() -> mockMvc.perform(get("/api/inventory/analytics/categories")).andExpect(status().isOk()))
+                .assertQueriesAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+
+        // A write evicts the cache, so the next read aggregates again in a single statement
+        mockMvc.perform(put("/api/inventory/{id}", itemId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(itemJson("BUDGET-0", 3)))
+                .andExpect(status().isOk());
+        PerformanceBudget recomputed = PerformanceBudget.measure(queryCounter, statistics,
+                () -> mockMvc.perform(get("/api/inventory/analytics/categories")).andExpect(status().isOk()));
+        assertEquals(1, recomputed.getQueryCount(), "Cache should be evicted by the update");
+        recomputed.assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testDistributionBudget() throws Exception {
+        // Summarized from the streaming sketch once it is built
+        measure(() -> mockMvc.perform(get("/api/inventory/analytics/distribution")).andExpect(status().isOk()))
+                .assertQueriesAtMost(0)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+    }
+
+    @Test
+    void testLeaderboardBudget() throws Exception {
+        // Restock, then sell 15 units so the item shows up as moving
+        mockMvc.perform(get("/api/inventory/analytics/top/moving")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/inventory/{id}", itemId).contentType(MediaType.APPLICATION_JSON)
+                .content(itemJson("BUDGET-0", 20))).andExpect(status().isOk());
+        mockMvc.perform(put("/api/inventory/{id}", itemId).contentType(MediaType.APPLICATION_JSON)
+                .content(itemJson("BUDGET-0", 5))).andExpect(status().isOk());
+
+        measure(() -> {
+            mockMvc.perform(get("/api/inventory/analytics/top/value").param("limit", "20"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(20));
+            mockMvc.perform(get("/api/inventory/analytics/top/moving"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.id == " + itemId + ")].score").value(contains(greaterThanOrEqualTo(15.0))));
+        })
+                .assertQueriesAtMost(0)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+
+        mockMvc.perform(get("/api/inventory/analytics/top/value").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testValuationBudget() throws Exception {
+        // Answered from the columnar snapshot once it is loaded
+        measure(() -> {
+            mockMvc.perform(get("/api/inventory/analytics/valuation").param("minQuantity", "10"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/inventory/analytics/valuation/categories").param("maxPrice", "500"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/inventory/analytics/valuation/price-bands").param("bandWidth", "50"))
+                    .andExpect(status().isOk());
+        })
+                .assertQueriesAtMost(0)
+                .assertEntityLoadsAtMost(0)
+                .assertWallTimeAtMost(WALL_TIME_BUDGET);
+
+        mockMvc.perform(get("/api/inventory/analytics/valuation/price-bands").param("bandWidth", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
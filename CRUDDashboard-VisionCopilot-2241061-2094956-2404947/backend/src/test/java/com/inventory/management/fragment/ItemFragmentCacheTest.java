@@ -0,0 +1,220 @@
+package com.inventory.management.fragment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.VersionedItemDTO;
+import com.inventory.management.service.InventoryService;
+import com.inventory.management.support.PerformanceBudget;
+import com.inventory.management.support.QueryCounter;
+import com.inventory.management.support.QueryCountingConfig;
+import com.inventory.management.tenant.TenantContext;
+import com.inventory.management.tenant.TenantFilter;
+import com.inventory.management.tenant.TenantRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountingConfig.class)
+public class ItemFragmentCacheTest {
+
+    private static final int BENCHMARK_ITEMS = 10_000;
+    private static final int BENCHMARK_ROUNDS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ItemFragmentCache itemFragmentCache;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // A manager of its own, so other tests sharing this context keep their catalog sizes
+    private long managerId;
+
+    @BeforeEach
+    void setUp() {
+        managerId = 46_000 + System.nanoTime() % 1_000_000;
+        jdbcTemplate.update("INSERT INTO store_managers (id, name, email, password_hash) VALUES (?, ?, ?, ?)",
+                managerId, "Manager " + managerId, "manager-" + managerId + "@inventoryhub.com", "-");
+        for (int i = 1; i <= 3; i++) {
+            createItem("Fragment Item " + i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM activity_log WHERE manager_id = ?", managerId);
+        jdbcTemplate.update("DELETE FROM inventory_items WHERE manager_id = ?", managerId);
+    }
+
+    @Test
+    void testListIsAssembledFromCachedFragments() throws Exception {
+        // Arrange
+        String first = fetchItems();
+        double hitsBefore = hits();
+
+        // Act
+        String second = fetchItems();
+
+        // Assert
+        List<InventoryItemDTO> items = TenantContext.callAs(managerId, inventoryService::getAllItems);
+        assertEquals(objectMapper.writeValueAsString(items), second);
+        assertEquals(first, second);
+        assertEquals(3, hits() - hitsBefore);
+    }
+
+    @Test
+    void testUpdatedItemIsEncodedAgain() throws Exception {
+        // Arrange
+        InventoryItemDTO updated = createItem("Fragment Before");
+        assertTrue(fetchItems().contains("Fragment Before"));
+        updated.setName("Fragment After");
+
+        // Act
+        mockMvc.perform(put("/api/inventory/" + updated.getId()).header(TenantFilter.HEADER, managerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isOk());
+        String items = fetchItems();
+
+        // Assert
+        assertTrue(items.contains("Fragment After"));
+        assertFalse(items.contains("Fragment Before"));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT version FROM inventory_items WHERE id = ?",
+                Long.class, updated.getId()), "Created at version 0, updated once");
+    }
+
+    @Test
+    void testItemsDeletedElsewhereAreDropped() throws Exception {
+        // Arrange
+        fetchItems();
+        assertEquals(3, itemFragmentCache.size(managerId));
+
+        // Act: a delete made by another node raises no local event
+        jdbcTemplate.update("DELETE FROM inventory_items WHERE manager_id = ? AND name = ?",
+                managerId, "Fragment Item 2");
+        String items = fetchItems();
+
+        // Assert
+        assertFalse(items.contains("Fragment Item 2"));
+        assertEquals(2, itemFragmentCache.size(managerId));
+    }
+
+    @Test
+    void testOnlyRecentManagersKeepFragments() {
+        // Arrange
+        ItemFragmentCache cache = new ItemFragmentCache(objectMapper, new SimpleMeterRegistry(),
+                new TenantRegistry<>(mock(PlatformTransactionManager.class), 1));
+        List<Object[]> idVersions = List.<Object[]>of(new Object[]{1L, 0L});
+        List<VersionedItemDTO> items = List.of(new VersionedItemDTO(0L,
+                new InventoryItemDTO(1L, "Item", "SKU-1", "Fragments", 5.0, 3, null, null)));
+
+        // Act
+        cache.assemble(1L, idVersions, missing -> items);
+        cache.assemble(2L, idVersions, missing -> items);
+
+        // Assert
+        assertEquals(0, cache.size(1L), "Building a second manager should drop the first");
+        assertEquals(1, cache.size(2L));
+    }
+
+    @Test
+    void testWarmFragmentsSkipEntityLoading() throws Exception {
+        // Arrange
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(BENCHMARK_ITEMS);
+        for (int i = 1; i <= BENCHMARK_ITEMS; i++) {
+            rows.add(new Object[]{managerId, "Item " + i, "SKU-" + i, "Category " + (i % 20), 1 + (i % 1000) / 10.0,
+                    i % 250, i % 3 == 0 ? 15 : null, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO inventory_items (manager_id, name, sku, category, price, quantity, "
+                + "reorder_point, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        // Act
+        PerformanceBudget dtos = benchmark(
+                () -> objectMapper.writeValue(OutputStream.nullOutputStream(), inventoryService.getAllItems()));
+        PerformanceBudget fragments = benchmark(
+                () -> inventoryService.getAllItemsJson().writeTo(OutputStream.nullOutputStream()));
+
+        // Assert
+        assertEquals(1, fragments.getQueryCount(), "A warm cache only reads ids and versions");
+        assertTrue(fragments.getAllocatedBytes() * 2 < dtos.getAllocatedBytes());
+    }
+
+    // Best of several rounds after a warm-up round, per request
+    private PerformanceBudget benchmark(PerformanceBudget.Action request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        PerformanceBudget best = null;
+        for (int round = 0; round <= BENCHMARK_ROUNDS; round++) {
+            PerformanceBudget budget = TenantContext.callAs(managerId, () -> {
+                try {
+                    return PerformanceBudget.measure(queryCounter, statistics, request);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            if (round > 0 && (best == null || budget.getCpuTime().compareTo(best.getCpuTime()) < 0)) {
+                best = budget;
+            }
+        }
+        return best;
+    }
+
+    private InventoryItemDTO createItem(String name) {
+        return TenantContext.callAs(managerId, () -> inventoryService.convertToDTO(inventoryService.createItem(
+                new InventoryItemDTO(null, name, "FRAGMENT-" + System.nanoTime(), "Fragments", 5.0, 3, null, null))));
+    }
+
+    private String fetchItems() throws Exception {
+        return mockMvc.perform(get("/api/inventory").header(TenantFilter.HEADER, managerId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private double hits() {
+        return meterRegistry.counter(ItemFragmentCache.REQUESTS_METRIC, "result", "hit").count();
+    }
+}
@@ -0,0 +1,81 @@
+package com.inventory.management.observability;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowQueryJournalTest {
+
+    private DataSource dataSource;
+    private SlowQueryJournal journal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slowquerytest;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS items (id BIGINT PRIMARY KEY, sku VARCHAR(50))");
+            statement.execute("MERGE INTO items KEY (id) VALUES (1, 'SKU-1')");
+        }
+
+        // Threshold of 0 ms journals every statement
+        journal = new SlowQueryJournal(() -> dataSource, 0, 2, true);
+        dataSource = ProxyDataSourceBuilder.create(h2).listener(journal).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.destroy();
+    }
+
+    private void runQuery(String sku) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT id FROM items WHERE sku = ?")) {
+            statement.setString(1, sku);
+            // Only the execution matters
+            statement.executeQuery().close();
+        }
+    }
+
+    @Test
+    void testRecordsStatementWithParametersAndPlan() throws Exception {
+        // Act
+        runQuery("SKU-1");
+
+        // Assert
+        List<SlowQueryJournal.SlowQuery> slowQueries = journal.getSlowQueries();
+        assertEquals(1, slowQueries.size(), "Statement should be journaled");
+        SlowQueryJournal.SlowQuery slowQuery = slowQueries.get(0);
+        assertEquals("SELECT id FROM items WHERE sku = ?", slowQuery.getSql());
+        assertEquals(List.of("SKU-1"), slowQuery.getParameters(), "Bind parameters should be captured");
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (slowQuery.getPlan() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(slowQuery.getPlan(), "EXPLAIN plan should be captured asynchronously");
+        assertTrue(slowQuery.getPlan().toUpperCase().contains("ITEMS"), "Plan should reference the table");
+        assertEquals(1, journal.getSlowQueries().size(), "EXPLAIN itself should not be journaled");
+    }
+
+    @Test
+    void testJournalIsBounded() throws Exception {
+        // Act
+        runQuery("A");
+        runQuery("B");
+        runQuery("C");
+
+        // Assert
+        assertEquals(2, journal.getSlowQueries().size(), "Journal should keep only the configured capacity");
+    }
+}
@@ -0,0 +1,80 @@
+package com.inventory.management.observability;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TraceStoreTest {
+
+    private TraceStore traceStore;
+    private Tracing tracing;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        traceStore = new TraceStore(2, 10);
+        tracing = Tracing.newBuilder().addSpanHandler(traceStore).build();
+        tracer = tracing.tracer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    private void recordTrace(String name, long durationMicros) {
+        Span root = tracer.newTrace().name(name).start(1_000);
+        Span child = tracer.newChild(root.context()).name("child").start(1_100);
+        child.finish(1_100 + durationMicros / 2);
+        root.finish(1_000 + durationMicros);
+    }
+
+    @Test
+    void testBuildsSpanTree() {
+        // Act
+        recordTrace("GET /dashboard", 10_000);
+        List<TraceStore.TraceView> traces = traceStore.getSlowestTraces();
+
+        // Assert
+        assertEquals(1, traces.size(), "Should retain the completed trace");
+        TraceStore.SpanNode root = traces.get(0).root();
+        assertEquals("GET /dashboard", root.name());
+        assertEquals(10.0, root.durationMs(), 0.001, "Root duration should be in milliseconds");
+        assertEquals(1, root.children().size(), "Root should have the child span");
+        assertEquals("child", root.children().get(0).name());
+        assertEquals(5.0, root.selfMs(), 0.001, "Self time should exclude child spans");
+    }
+
+    @Test
+    void testKeepsOnlySlowestTraces() {
+        // Act
+        recordTrace("fast", 1_000);
+        recordTrace("slow", 50_000);
+        recordTrace("medium", 20_000);
+        List<TraceStore.TraceView> traces = traceStore.getSlowestTraces();
+
+        // Assert
+        assertEquals(2, traces.size(), "Should keep only the configured number of traces");
+        assertEquals("slow", traces.get(0).name(), "Slowest trace should come first");
+        assertEquals("medium", traces.get(1).name());
+    }
+
+    @Test
+    void testClear() {
+        // Arrange
+        recordTrace("GET /dashboard", 10_000);
+
+        // Act
+        traceStore.clear();
+
+        // Assert
+        assertTrue(traceStore.getSlowestTraces().isEmpty(), "Store should be empty after clear");
+    }
+}
@@ -0,0 +1,219 @@
+package com.inventory.management.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.management.dto.CategoryStatsDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.event.CachesInvalidatedEvent;
+import com.inventory.management.model.InventoryItem;
+import com.inventory.management.service.AnalyticsService;
+import com.inventory.management.service.InventoryService;
+import com.inventory.management.service.SkuService;
+import com.inventory.management.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "inventory.replicas.count=2")
+public class ReplicationRoutingTest {
+
+    private static final Duration CATCH_UP_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private Replicator replicator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SkuService skuService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assertTrue(replicator.awaitCaughtUp(CATCH_UP_TIMEOUT));
+        ReadYourWrites.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplicas() {
+        // Arrange
+        double primaryBefore = routedTo(Replicator.PRIMARY);
+        double replicasBefore = routedTo("replica-1") + routedTo("replica-2");
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            inventoryService.getAllItems();
+        }
+
+        // Assert
+        assertEquals(primaryBefore, routedTo(Replicator.PRIMARY));
+        assertEquals(replicasBefore + 10, routedTo("replica-1") + routedTo("replica-2"));
+        assertTrue(routedTo("replica-1") > 0 && routedTo("replica-2") > 0);
+    }
+
+    @Test
+    void testWritesReplicateAndAreReadBackWithinTheRequest() throws Exception {
+        // Arrange
+        InventoryItemDTO dto = new InventoryItemDTO(null, "Replicated", "REPL-001", "Replication", 5.0, 3, null, null);
+
+        // Act
+        InventoryItem created = inventoryService.createItem(dto);
+        // Replicas have most likely not applied the insert yet, so this read must not go to a stale one
+        boolean readOwnWrite = inventoryService.getItemById(created.getId()).isPresent();
+        assertTrue(replicator.awaitCaughtUp(CATCH_UP_TIMEOUT));
+        double replicaReadsBefore = routedTo("replica-1") + routedTo("replica-2");
+        boolean readFromReplica = inventoryService.getItemById(created.getId()).isPresent();
+        double replicaReads = routedTo("replica-1") + routedTo("replica-2") - replicaReadsBefore;
+
+        // Assert
+        assertTrue(readOwnWrite);
+        assertTrue(readFromReplica);
+        assertEquals(1, replicaReads);
+        inventoryService.deleteItem(created.getId());
+        assertTrue(replicator.awaitCaughtUp(CATCH_UP_TIMEOUT));
+        ReadYourWrites.clear();
+        assertTrue(inventoryService.getItemById(created.getId()).isEmpty());
+    }
+
+    @Test
+    void testPatchesReplicate() throws Exception {
+        // Arrange
+        InventoryItemDTO dto = new InventoryItemDTO(null, "Patched", "REPL-002", "Replication", 5.0, 3, null, null);
+        InventoryItem created = inventoryService.createItem(dto);
+        try {
+            // Act - the patch is a targeted update, which Hibernate's entity listeners do not see
+            inventoryService.patchItem(created.getId(), objectMapper.readTree("{\"quantity\": 7}"));
+            Optional<InventoryItem> readOwnWrite = inventoryService.getItemById(created.getId());
+            assertTrue(replicator.awaitCaughtUp(CATCH_UP_TIMEOUT));
+            ReadYourWrites.clear();
+            double replicaReadsBefore = routedTo("replica-1") + routedTo("replica-2");
+            Optional<InventoryItem> readFromReplica = inventoryService.getItemById(created.getId());
+            double replicaReads = routedTo("replica-1") + routedTo("replica-2") - replicaReadsBefore;
+
+            // Assert
+            assertEquals(7, readOwnWrite.orElseThrow().getQuantity());
+            assertEquals(1, replicaReads);
+            assertEquals(7, readFromReplica.orElseThrow().getQuantity(), "The patch should reach the replicas");
+        } finally {
+            inventoryService.deleteItem(created.getId());
+        }
+    }
+
+    @Test
+    void testCachesAreNotBuiltFromALaggingReplica() {
+        // Arrange - a row written around replication, so the replicas never catch up with it
+        JdbcTemplate primary = new JdbcTemplate(replicator.getPrimary());
+        primary.update("INSERT INTO inventory_items (manager_id, name, sku, category, price, quantity) "
+                + "VALUES (1, 'Lagging', 'LAG-001', 'Lagging', 2.0, 4)");
+        try {
+            eventPublisher.publishEvent(new CachesInvalidatedEvent(Set.of(1L)));
+            assertTrue(inventoryService.getAllItems().stream().noneMatch(item -> item.getSku().equals("LAG-001")),
+                    "Reads should be on a replica without the row");
+
+            // Act - the SKU index is first used inside a read-only transaction, as by the scanner lookup
+            TenantContext.callAs(1L, () -> inventoryService.getItemBySku("LAG-001"));
+            Optional<Long> itemId = skuService.findItemId(1L, "LAG-001");
+            List<CategoryStatsDTO> categoryStats = TenantContext.callAs(1L, analyticsService::getCategoryStats);
+
+            // Assert
+            assertTrue(itemId.isPresent(), "The SKU index should be built from the primary");
+            assertTrue(categoryStats.stream().anyMatch(stats -> stats.getCategory().equals("Lagging")),
+                    "Cached category stats should be read from the primary");
+        } finally {
+            primary.update("DELETE FROM inventory_items WHERE sku = 'LAG-001'");
+            eventPublisher.publishEvent(new CachesInvalidatedEvent(Set.of(1L)));
+        }
+    }
+
+    @Test
+    void testConcurrentReadsSpreadAcrossReplicas() throws Exception {
+        // Arrange
+        int threads = 4;
+        int readsPerThread = 200;
+        int reads = threads * readsPerThread;
+        double primaryBefore = routedTo(Replicator.PRIMARY);
+        double replica1Before = routedTo("replica-1");
+        double replica2Before = routedTo("replica-2");
+
+        // Act
+        readConcurrently(threads, readsPerThread, false);
+        double replica1 = routedTo("replica-1") - replica1Before;
+        double replica2 = routedTo("replica-2") - replica2Before;
+        double primaryAfterReplicaReads = routedTo(Replicator.PRIMARY);
+        readConcurrently(threads, readsPerThread, true);
+
+        // Assert
+        assertEquals(primaryBefore, primaryAfterReplicaReads, "Caught-up replicas should serve every read");
+        assertEquals(reads, replica1 + replica2);
+        assertTrue(replica1 >= reads / 4.0 && replica2 >= reads / 4.0,
+                "Reads should be shared between the replicas: " + replica1 + " and " + replica2);
+        assertTrue(routedTo(Replicator.PRIMARY) - primaryAfterReplicaReads >= reads,
+                "Reads pinned above every replica's version should stay on the primary");
+    }
+
+    // Pinning a thread's required version above anything applied keeps its reads on the primary
+    private void readConcurrently(int threads, int readsPerThread, boolean primaryOnly) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                tasks.add(() -> {
+                    if (primaryOnly) {
+                        ReadYourWrites.require(Long.MAX_VALUE);
+                    }
+                    try {
+                        int items = 0;
+                        for (int read = 0; read < readsPerThread; read++) {
+                            items += inventoryService.getAllItems().size();
+                        }
+                        return items;
+                    } finally {
+                        ReadYourWrites.clear();
+                    }
+                });
+            }
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get() > 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double routedTo(String target) {
+        return meterRegistry.counter(ReplicaRoutingDataSource.ROUTED_METRIC, "target", target).count();
+    }
+}
@@ -2,6 +2,7 @@ package com.inventory.management.repository;
 
 import com.inventory.management.model.ActivityLog;
 import com.inventory.management.model.StoreManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -118,4 +119,18 @@ public class ActivityLogRepositoryTest {
         assertEquals("Created Item: Tablet", otherManagerLogs.get(0).getAction(),
                 "The most recent log for other manager should be as expected");
     }
+
+    @Test
+    void testManagerIsLoadedLazily() {
+        // Arrange
+        entityManager.clear();
+
+        // Act
+        List<ActivityLog> recentLogs = activityLogRepository.findTop10ByManagerIdOrderByTimestampDesc(testManager.getId());
+
+        // Assert
+        assertEquals(10, recentLogs.size());
+        assertTrue(recentLogs.stream().noneMatch(log -> Hibernate.isInitialized(log.getManager())),
+                "Manager should not be loaded with the activity log");
+    }
 }
@@ -1,7 +1,11 @@
 package com.inventory.management.repository;
 
+import com.inventory.management.dto.CategoryStatsDTO;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.exception.InvalidFieldsException;
 import com.inventory.management.model.InventoryItem;
 import com.inventory.management.model.StoreManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -81,7 +86,7 @@ public class InventoryItemRepositoryTest {
     @Test
     void testFindLowStockItems() {
         // Act
-        List<InventoryItem> lowStockItems = inventoryItemRepository.findLowStockItems(testManager.getId());
+        List<InventoryItemDTO> lowStockItems = inventoryItemRepository.findLowStockItemDTOs(testManager.getId(), Map.of(), 10);
         
         // Assert
         assertEquals(1, lowStockItems.size(), "Should find 1 low stock item (quantity > 0 and < 10)");
@@ -89,6 +94,24 @@ public class InventoryItemRepositoryTest {
         assertEquals(8, lowStockItems.get(0).getQuantity(), "The quantity should be 8");
     }
 
+    @Test
+    void testLowStockUsesEffectiveReorderPoints() {
+        // Arrange - the laptop sets its own point; clothing and electronics have category defaults
+        InventoryItem laptop = inventoryItemRepository.findByManagerId(testManager.getId()).stream()
+                .filter(item -> item.getName().equals("Laptop")).findFirst().orElseThrow();
+        laptop.setReorderPoint(20);
+        entityManager.flush();
+        Map<String, Integer> categoryPoints = Map.of("Clothing", 30, "Electronics", 5);
+
+        // Act
+        List<InventoryItemDTO> lowStock = inventoryItemRepository.findLowStockItemDTOs(testManager.getId(), categoryPoints, 10);
+        long count = inventoryItemRepository.countLowStockItems(testManager.getId(), categoryPoints, 10);
+
+        // Assert - the mouse (8) is above the electronics point, the out-of-stock keyboard is not low stock
+        assertEquals(List.of("Laptop", "T-Shirt"), lowStock.stream().map(InventoryItemDTO::getName).sorted().toList());
+        assertEquals(2L, count);
+    }
+
     @Test
     void testFindOutOfStockItems() {
         // Act
@@ -136,7 +159,7 @@ public class InventoryItemRepositoryTest {
         assertEquals(1, otherManagerItems.size());
         
         // Verify the low stock query respects manager isolation
-        List<InventoryItem> otherManagerLowStock = inventoryItemRepository.findLowStockItems(otherManager.getId());
+        List<InventoryItemDTO> otherManagerLowStock = inventoryItemRepository.findLowStockItemDTOs(otherManager.getId(), Map.of(), 10);
         assertEquals(1, otherManagerLowStock.size());
         assertEquals("Tablet", otherManagerLowStock.get(0).getName());
         
@@ -144,4 +167,141 @@ public class InventoryItemRepositoryTest {
         List<InventoryItem> searchResults = inventoryItemRepository.searchItems("Tablet", testManager.getId());
         assertEquals(0, searchResults.size(), "Should not find other manager's items when searching");
     }
+
+    @Test
+    void testDTOProjections() {
+        // Act
+        List<InventoryItemDTO> all = inventoryItemRepository.findItemDTOsByManagerId(testManager.getId());
+        List<InventoryItemDTO> lowStock = inventoryItemRepository.findLowStockItemDTOs(testManager.getId(), Map.of(), 10);
+        List<InventoryItemDTO> outOfStock = inventoryItemRepository.findOutOfStockItemDTOs(testManager.getId());
+        List<InventoryItemDTO> search = inventoryItemRepository.searchItemDTOs("cloth", testManager.getId());
+
+        // Assert
+        assertEquals(4, all.size(), "Should project all 4 items of the test manager");
+        assertEquals(1, lowStock.size());
+        assertEquals("Mouse", lowStock.get(0).getName());
+        assertEquals("TECH-002", lowStock.get(0).getSku());
+        assertEquals(29.99, lowStock.get(0).getPrice());
+        assertEquals(8, lowStock.get(0).getQuantity());
+        assertEquals(1, outOfStock.size());
+        assertEquals("Keyboard", outOfStock.get(0).getName());
+        assertEquals(1, search.size());
+        assertEquals("T-Shirt", search.get(0).getName());
+        assertEquals(1L, inventoryItemRepository.countLowStockItems(testManager.getId(), Map.of(), 10));
+        assertEquals(1L, inventoryItemRepository.countOutOfStockItems(testManager.getId()));
+        assertEquals(1L, inventoryItemRepository.countLowStockItems(otherManager.getId(), Map.of(), 10));
+    }
+
+    @Test
+    void testManagerIsLoadedLazily() {
+        // Arrange
+        entityManager.clear();
+
+        // Act
+        List<InventoryItem> items = inventoryItemRepository.findByManagerId(testManager.getId());
+
+        // Assert
+        assertEquals(4, items.size());
+        assertTrue(items.stream().noneMatch(item -> Hibernate.isInitialized(item.getManager())),
+                "Manager should not be loaded with the items");
+        assertTrue(items.stream().allMatch(item -> item.getManager().getId().equals(testManager.getId())),
+                "Manager id should be available from the proxy");
+        assertTrue(items.stream().noneMatch(item -> Hibernate.isInitialized(item.getManager())),
+                "Reading the manager id should not initialize the proxy");
+    }
+
+    @Test
+    void testSkuIsUniquePerManager() {
+        // Arrange
+        createInventoryItemForManager("Laptop Pro", "TECH-001", "Electronics", 1299.99, 3, otherManager);
+        entityManager.flush();
+
+        // Act & Assert
+        assertThrows(org.hibernate.exception.ConstraintViolationException.class, () -> {
+            createInventoryItem("Laptop Copy", "TECH-001", "Electronics", 999.99, 1);
+            entityManager.flush();
+        }, "Same SKU for the same manager should violate the unique constraint");
+    }
+
+    @Test
+    void testSkuLookups() {
+        // Act
+        List<Object[]> pairs = inventoryItemRepository.findSkuIdPairsByManagerId(testManager.getId());
+        Long mouseId = pairs.stream().filter(row -> row[0].equals("TECH-002")).map(row -> (Long) row[1])
+                .findFirst().orElseThrow();
+
+        // Assert
+        assertEquals(4, pairs.size());
+        assertEquals("Mouse", inventoryItemRepository.findItemDTOById(mouseId, testManager.getId()).orElseThrow().getName());
+        assertTrue(inventoryItemRepository.findItemDTOById(mouseId, otherManager.getId()).isEmpty(),
+                "Items of another manager should not be returned");
+    }
+
+    @Test
+    void testFindReorderCandidates() {
+        // Arrange
+        InventoryItem laptop = inventoryItemRepository.findByManagerId(testManager.getId()).stream()
+                .filter(item -> item.getName().equals("Laptop")).findFirst().orElseThrow();
+        laptop.setReorderPoint(20);
+        entityManager.flush();
+
+        // Act
+        List<InventoryItemDTO> candidates = inventoryItemRepository.findReorderCandidateDTOs(testManager.getId(), 10);
+
+        // Assert
+        assertEquals(List.of("Keyboard", "Laptop", "Mouse"),
+                candidates.stream().map(InventoryItemDTO::getName).sorted().toList(),
+                "Item reorder points should override the default in the prefilter");
+        assertEquals(20, candidates.stream().filter(item -> item.getName().equals("Laptop"))
+                .findFirst().orElseThrow().getReorderPoint());
+    }
+
+    @Test
+    void testFindCategoryStats() {
+        // Act
+        List<CategoryStatsDTO> stats = inventoryItemRepository.findCategoryStats(testManager.getId());
+
+        // Assert
+        assertEquals(2, stats.size(), "Should aggregate the test manager's 2 categories");
+        CategoryStatsDTO clothing = stats.get(0);
+        assertEquals("Clothing", clothing.getCategory());
+        assertEquals(1L, clothing.getItemCount());
+        assertEquals(25L, clothing.getTotalUnits());
+        assertEquals(19.99 * 25, clothing.getStockValue(), 0.001);
+        CategoryStatsDTO electronics = stats.get(1);
+        assertEquals("Electronics", electronics.getCategory());
+        assertEquals(3L, electronics.getItemCount(), "Other manager's tablet should not be counted");
+        assertEquals(23L, electronics.getTotalUnits());
+        assertEquals(999.99 * 15 + 29.99 * 8, electronics.getStockValue(), 0.001);
+    }
+
+    @Test
+    void testFindItemFieldsSelectsOnlyProjectedFields() {
+        // Arrange
+        ItemProjection projection = ItemProjection.of(List.of("quantity", "sku", "id"));
+
+        // Act
+        List<Map<String, Object>> items =
+                inventoryItemRepository.findItemFieldsByManagerId(testManager.getId(), projection);
+        List<Map<String, Object>> matches = inventoryItemRepository.searchItemFields("tech", testManager.getId(),
+                ItemProjection.of(List.of("sku")));
+
+        // Assert
+        assertEquals(4, items.size(), "Should only return the test manager's items");
+        items.forEach(item -> assertEquals(List.of("id", "sku", "quantity"), List.copyOf(item.keySet())));
+        Map<String, Object> laptop = items.stream()
+                .filter(item -> item.get("sku").equals("TECH-001"))
+                .findFirst().orElseThrow();
+        assertEquals(15, laptop.get("quantity"));
+        assertEquals(List.of("TECH-001", "TECH-002", "TECH-003"),
+                matches.stream().map(item -> (String) item.get("sku")).sorted().toList());
+    }
+
+    @Test
+    void testItemProjectionsAreCachedByFieldSet() {
+        // Act & Assert
+        assertSame(ItemProjection.of(List.of("id", "sku")), ItemProjection.of(List.of("sku", "id")));
+        assertThrows(InvalidFieldsException.class, () -> ItemProjection.of(List.of("id", "passwordHash")));
+        assertThrows(InvalidFieldsException.class, () -> ItemProjection.of(List.of()));
+    }
 }
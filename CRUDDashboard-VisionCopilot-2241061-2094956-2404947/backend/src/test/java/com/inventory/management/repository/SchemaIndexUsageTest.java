@@ -0,0 +1,131 @@
+package com.inventory.management.repository;
+
+import com.inventory.management.support.QueryCounter;
+import com.inventory.management.support.QueryCountingConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repository queries against the migrated schema and checks their H2 {@code EXPLAIN}
+ * plans, so a query that stops matching an index fails here instead of scanning in production.
+ * Hibernate validates the entity mappings against the migrations in the same context.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@Import(QueryCountingConfig.class)
+public class SchemaIndexUsageTest {
+
+    private static final Long MANAGER_ID = 1L;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private StoreManagerRepository storeManagerRepository;
+
+    @Test
+    void testManagerScopedQueriesUseAnIndex() {
+        // Act
+        List<String> plans = plansOf(() -> {
+            inventoryItemRepository.findByManagerId(MANAGER_ID);
+            inventoryItemRepository.findItemDTOsByManagerId(MANAGER_ID);
+            inventoryItemRepository.findItemDTOById(1L, MANAGER_ID);
+            inventoryItemRepository.findSkuIdPairsByManagerId(MANAGER_ID);
+            inventoryItemRepository.findIdVersionPairsByManagerId(MANAGER_ID);
+            inventoryItemRepository.findVersionedItemDTOsByManagerId(MANAGER_ID);
+            inventoryItemRepository.findVersionedItemDTOsByIds(List.of(1L, 2L), MANAGER_ID);
+            inventoryItemRepository.findIdVersionPairsByIds(List.of(1L, 2L), MANAGER_ID);
+            inventoryItemRepository.searchItemDTOs("lap", MANAGER_ID);
+            inventoryItemRepository.findReorderCandidateDTOs(MANAGER_ID, 10);
+            inventoryItemRepository.findCategoryStats(MANAGER_ID);
+        });
+
+        // Assert
+        assertEquals(11, plans.size());
+        plans.forEach(plan -> assertFalse(plan.contains("tablescan"), plan));
+    }
+
+    @Test
+    void testStockQueriesUseManagerQuantityIndex() {
+        // Act
+        List<String> plans = plansOf(() -> {
+            inventoryItemRepository.findLowStockItemDTOs(MANAGER_ID, Map.of("Electronics", 5), 10);
+            inventoryItemRepository.findOutOfStockItemDTOs(MANAGER_ID);
+            inventoryItemRepository.countLowStockItems(MANAGER_ID, Map.of(), 10);
+            inventoryItemRepository.countOutOfStockItems(MANAGER_ID);
+        });
+
+        // Assert
+        assertEquals(4, plans.size());
+        plans.forEach(plan -> assertTrue(plan.contains("idx_inventory_items_manager_quantity"), plan));
+    }
+
+    @Test
+    void testCategoryStatsUseManagerCategoryIndex() {
+        // Act
+        List<String> plans = plansOf(() -> inventoryItemRepository.findCategoryStats(MANAGER_ID));
+
+        // Assert
+        assertEquals(1, plans.size());
+        assertTrue(plans.get(0).contains("idx_inventory_items_manager_category"), plans.get(0));
+    }
+
+    @Test
+    void testRecentActivityUsesManagerTimestampIndex() {
+        // Act
+        List<String> plans = plansOf(() -> activityLogRepository.findTop10ByManagerIdOrderByTimestampDesc(MANAGER_ID));
+
+        // Assert
+        assertEquals(1, plans.size());
+        assertTrue(plans.get(0).contains("idx_activity_log_manager_timestamp"), plans.get(0));
+    }
+
+    @Test
+    void testFindByEmailUsesUniqueIndex() {
+        // Act
+        List<String> plans = plansOf(() -> storeManagerRepository.findByEmail("demo@inventory.com"));
+
+        // Assert
+        assertEquals(1, plans.size());
+        assertTrue(plans.get(0).contains("uk_store_managers_email"), plans.get(0));
+    }
+
+    // Captures the statements issued by the queries and returns their plans, lower-cased
+    private List<String> plansOf(Runnable queries) {
+        queryCounter.reset();
+        queries.run();
+        return queryCounter.getStatements().stream()
+                .map(this::explain)
+                .toList();
+    }
+
+    // H2 picks indexes without looking at bind values, so every parameter is bound to 1
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql,
+                statement -> {
+                    int parameters = statement.getParameterMetaData().getParameterCount();
+                    for (int index = 1; index <= parameters; index++) {
+                        statement.setObject(index, 1);
+                    }
+                },
+                (resultSet, row) -> resultSet.getString(1))
+                .get(0).toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,6 +4,7 @@ import com.inventory.management.dto.ActivityLogDTO;
 import com.inventory.management.model.ActivityLog;
 import com.inventory.management.model.StoreManager;
 import com.inventory.management.repository.ActivityLogRepository;
+import com.inventory.management.tenant.ManagerDirectory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +25,9 @@ public class ActivityLogServiceTest {
     @Mock
     private ActivityLogRepository activityLogRepository;
 
+    @Mock
+    private ManagerDirectory managerDirectory;
+
     @InjectMocks
     private ActivityLogService activityLogService;
 
@@ -33,6 +37,8 @@ public class ActivityLogServiceTest {
 
     @BeforeEach
     void setUp() {
+        when(managerDirectory.currentManagerId()).thenReturn(1L);
+
         // Setup test manager
         testManager = new StoreManager();
         testManager.setId(1L);
@@ -0,0 +1,161 @@
+package com.inventory.management.service;
+
+import com.inventory.management.analytics.ReorderIndex;
+import com.inventory.management.config.ReorderProperties;
+import com.inventory.management.dto.InventoryItemDTO;
+import com.inventory.management.dto.ReorderItemDTO;
+import com.inventory.management.event.InventoryItemChangedEvent;
+import com.inventory.management.event.ReorderThresholdCrossedEvent;
+import com.inventory.management.repository.InventoryItemRepository;
+import com.inventory.management.tenant.ManagerDirectory;
+import com.inventory.management.tenant.TenantRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReorderServiceTest {
+
+    @Mock
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Spy
+    private ReorderProperties reorderProperties = new ReorderProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ManagerDirectory managerDirectory;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TenantRegistry<ReorderIndex> indexes = new TenantRegistry<>(mock(PlatformTransactionManager.class), 1000);
+
+    @InjectMocks
+    private ReorderService reorderService;
+
+    private InventoryItemDTO phone;
+
+    @BeforeEach
+    void setUp() {
+        reorderProperties.setCategoryDefaults(Map.of("Electronics", 5));
+        phone = item(1L, "Electronics", 3, null);
+    }
+
+    private InventoryItemDTO item(Long id, String category, int quantity, Integer reorderPoint) {
+        InventoryItemDTO item = new InventoryItemDTO();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setCategory(category);
+        item.setQuantity(quantity);
+        item.setReorderPoint(reorderPoint);
+        return item;
+    }
+
+    @Test
+    void testReorderPointResolution() {
+        // Act & Assert
+        assertEquals(5, reorderService.reorderPointOf(phone), "Category default should apply");
+        assertEquals(10, reorderService.reorderPointOf(item(2L, "Clothing", 3, null)), "Global default should apply");
+        assertEquals(2, reorderService.reorderPointOf(item(3L, "Electronics", 3, 2)), "Item reorder point should win");
+        assertEquals(10, reorderProperties.maxDefaultPoint());
+    }
+
+    @Test
+    void testItemsNeedingReorderAreLoadedOnce() {
+        // Arrange
+        when(managerDirectory.currentManagerId()).thenReturn(1L);
+        when(inventoryItemRepository.findReorderCandidateDTOs(1L, 10))
+                .thenReturn(List.of(phone, item(2L, "Electronics", 7, null)));
+
+        // Act
+        List<ReorderItemDTO> first = reorderService.getItemsNeedingReorder(20);
+        List<ReorderItemDTO> second = reorderService.getItemsNeedingReorder(20);
+
+        // Assert
+        assertEquals(1, first.size(), "Item above its category default should be skipped");
+        assertEquals(first, second);
+        verify(inventoryItemRepository, times(1)).findReorderCandidateDTOs(1L, 10);
+    }
+
+    @Test
+    void testThresholdCrossingsArePublished() {
+        // Arrange
+        when(managerDirectory.currentManagerId()).thenReturn(1L);
+        when(inventoryItemRepository.findReorderCandidateDTOs(1L, 10)).thenReturn(List.of(phone));
+        reorderService.getItemsNeedingReorder(20);
+        InventoryItemDTO restocked = item(1L, "Electronics", 12, null);
+        InventoryItemDTO coat = item(2L, "Clothing", 12, null);
+        InventoryItemDTO coatSold = item(2L, "Clothing", 9, null);
+
+        // Act
+        change(new InventoryItemChangedEvent(1L, phone, restocked));
+        change(new InventoryItemChangedEvent(1L, null, coat));
+        change(new InventoryItemChangedEvent(1L, coat, coatSold));
+
+        // Assert
+        ArgumentCaptor<ReorderThresholdCrossedEvent> captor = ArgumentCaptor.forClass(ReorderThresholdCrossedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertFalse(captor.getAllValues().get(0).needsReorder(), "Restock should clear the phone");
+        assertTrue(captor.getAllValues().get(1).needsReorder(), "Sale should put the coat below its reorder point");
+        assertEquals(10, captor.getAllValues().get(1).reorderPoint());
+        assertEquals(List.of(2L), reorderService.getItemsNeedingReorder(20).stream().map(ReorderItemDTO::getId).toList());
+        assertEquals(1.0, meterRegistry.counter(ReorderService.CROSSINGS_METRIC, "direction", "below").count());
+        assertEquals(1.0, meterRegistry.counter(ReorderService.CROSSINGS_METRIC, "direction", "recovered").count());
+    }
+
+    @Test
+    void testCrossingsBeforeFirstUseArePublished() {
+        // Act
+        change(new InventoryItemChangedEvent(1L, null, phone));
+        change(new InventoryItemChangedEvent(1L, phone, item(1L, "Electronics", 2, null)));
+        change(new InventoryItemChangedEvent(1L, item(1L, "Electronics", 2, null), null));
+
+        // Assert
+        ArgumentCaptor<ReorderThresholdCrossedEvent> captor = ArgumentCaptor.forClass(ReorderThresholdCrossedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertTrue(captor.getValue().needsReorder(), "A new item below its reorder point should be reported");
+        assertEquals(5, captor.getValue().reorderPoint());
+        verifyNoInteractions(inventoryItemRepository);
+    }
+
+    @Test
+    void testReadsUseTheResolvedManagerId() {
+        // Arrange
+        when(managerDirectory.currentManagerId()).thenReturn(7L);
+        when(inventoryItemRepository.findReorderCandidateDTOs(7L, 10)).thenReturn(List.of());
+        reorderService.getItemsNeedingReorder(20);
+
+        // Act
+        change(new InventoryItemChangedEvent(7L, null, phone));
+
+        // Assert
+        assertEquals(List.of(1L), reorderService.getItemsNeedingReorder(20).stream().map(ReorderItemDTO::getId).toList(),
+                "Events keyed on the resolved id should reach the index the reads use");
+        verify(inventoryItemRepository, never()).findReorderCandidateDTOs(1L, 10);
+    }
+
+    // Both listeners, as they run for a change made outside a transaction
+    private void change(InventoryItemChangedEvent event) {
+        reorderService.onItemChanged(event);
+        reorderService.onItemCommitted(event);
+    }
+}
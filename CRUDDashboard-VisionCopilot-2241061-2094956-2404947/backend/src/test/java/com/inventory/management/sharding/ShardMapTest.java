@@ -0,0 +1,67 @@
+package com.inventory.management.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardMapTest {
+
+    private static final int MANAGERS = 10_000;
+
+    @Test
+    void testManagersSpreadEvenlyAcrossShards() {
+        // Arrange
+        ShardMap shardMap = new ShardMap(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+        // Act
+        Map<String, Integer> managersPerShard = new HashMap<>();
+        for (long managerId = 1; managerId <= MANAGERS; managerId++) {
+            managersPerShard.merge(shardMap.shardFor(managerId), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(4, managersPerShard.size(), "Every shard should own managers");
+        int fairShare = MANAGERS / 4;
+        managersPerShard.forEach((shard, managers) ->
+                assertTrue(Math.abs(managers - fairShare) < fairShare * 0.25,
+                        shard + " owns " + managers + " managers, fair share is " + fairShare));
+    }
+
+    @Test
+    void testAddingAShardOnlyMovesManagersToIt() {
+        // Arrange
+        ShardMap before = new ShardMap(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        ShardMap after = new ShardMap(List.of("shard-0", "shard-1", "shard-2", "shard-3", "shard-4"), 128);
+
+        // Act
+        int moved = 0;
+        for (long managerId = 1; managerId <= MANAGERS; managerId++) {
+            String previous = before.shardFor(managerId);
+            String current = after.shardFor(managerId);
+            if (!previous.equals(current)) {
+                assertEquals("shard-4", current, "Manager " + managerId + " moved between existing shards");
+                moved++;
+            }
+        }
+
+        // Assert
+        assertTrue(moved > MANAGERS / 5 * 0.75 && moved < MANAGERS / 5 * 1.25,
+                moved + " of " + MANAGERS + " managers moved, expected about a fifth");
+    }
+
+    @Test
+    void testAssignmentIsStable() {
+        // Arrange
+        ShardMap first = new ShardMap(List.of("shard-0", "shard-1", "shard-2"), 64);
+        ShardMap second = new ShardMap(List.of("shard-0", "shard-1", "shard-2"), 64);
+
+        // Act & Assert
+        for (long managerId = 1; managerId <= 1000; managerId++) {
+            assertEquals(first.shardFor(managerId), second.shardFor(managerId));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.inventory.management.sharding;
+
+import com.inventory.management.tenant.TenantContext;
+import com.inventory.management.tenant.TenantFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "inventory.shards.count=3")
+@AutoConfigureMockMvc
+public class ShardingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    private long managerId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        shardRoutingDataSource = dataSource.unwrap(ShardRoutingDataSource.class);
+        // A manager that does not share the default manager's shard
+        String defaultShard = shardMap.shardFor(TenantContext.DEFAULT_MANAGER_ID);
+        managerId = 1000 + System.nanoTime() % 1_000_000;
+        while (shardMap.shardFor(managerId).equals(defaultShard)) {
+            managerId++;
+        }
+        // Managers are provisioned on their home shard under their own id
+        TenantContext.runAs(managerId, () -> new JdbcTemplate(dataSource).update(
+                "INSERT INTO store_managers (id, name, email, password_hash) VALUES (?, ?, ?, ?)",
+                managerId, "Manager " + managerId, "manager-" + managerId + "@inventoryhub.com", "-"));
+    }
+
+    @Test
+    void testItemsAreStoredOnTheManagersShardOnly() throws Exception {
+        // Arrange
+        String item = "{\"name\":\"Sharded\",\"sku\":\"SHARD-" + managerId + "\",\"category\":\"Sharding\","
+                + "\"price\":5.0,\"quantity\":3}";
+
+        // Act
+        mockMvc.perform(post("/api/inventory").header(TenantFilter.HEADER, managerId)
+                        .contentType(MediaType.APPLICATION_JSON).content(item))
+                .andExpect(status().isCreated());
+
+        // Assert
+        mockMvc.perform(get("/api/inventory").header(TenantFilter.HEADER, managerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].sku").value("SHARD-" + managerId));
+        mockMvc.perform(get("/api/inventory/analytics/categories").header(TenantFilter.HEADER, managerId))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].category").value("Sharding"));
+        mockMvc.perform(get("/api/inventory"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].sku", not(hasItem("SHARD-" + managerId))));
+        mockMvc.perform(get("/api/inventory/analytics/categories"))
+                .andExpect(jsonPath("$[*].category", not(hasItem("Sharding"))));
+
+        for (String shard : shardMap.getShards()) {
+            Integer rows = new JdbcTemplate(shardRoutingDataSource.getShards().get(shard)).queryForObject(
+                    "SELECT COUNT(*) FROM inventory_items WHERE manager_id = ?", Integer.class, managerId);
+            assertEquals(shard.equals(shardMap.shardFor(managerId)) ? 1 : 0, rows, "Rows on " + shard);
+        }
+    }
+
+    @Test
+    void testUnknownManagerIsNotFound() throws Exception {
+        // Act & Assert - endpoints served from in-memory structures are rejected as well
+        for (String path : List.of("/api/inventory", "/api/inventory/reorder", "/api/inventory/facets",
+                "/api/inventory/analytics/valuation", "/api/inventory/analytics/distribution")) {
+            mockMvc.perform(get(path).header(TenantFilter.HEADER, managerId + 1_000_000_000L))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    void testInvalidManagerHeaderIsRejected() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/inventory").header(TenantFilter.HEADER, "not-a-manager"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/inventory").header(TenantFilter.HEADER, "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
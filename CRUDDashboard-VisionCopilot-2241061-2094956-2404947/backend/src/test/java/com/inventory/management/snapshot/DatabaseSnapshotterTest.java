@@ -0,0 +1,62 @@
+package com.inventory.management.snapshot;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseSnapshotterTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testSnapshotAndRestore() throws Exception {
+        // Arrange
+        JdbcDataSource source = newDatabase();
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        sourceJdbc.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        sourceJdbc.execute("INSERT INTO items SELECT X, 'Item ' || X FROM SYSTEM_RANGE(1, 10000)");
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setPath(directory.resolve("snapshots").resolve("db.sql.gz"));
+
+        // Act
+        DatabaseSnapshotter.Snapshot snapshot = new DatabaseSnapshotter(source, properties).snapshot();
+        JdbcDataSource target = newDatabase();
+        boolean restored = new DatabaseSnapshotter(target, properties).restore();
+
+        // Assert
+        assertTrue(restored);
+        assertTrue(Files.isRegularFile(properties.getPath()));
+        assertEquals(Files.size(properties.getPath()), snapshot.sizeBytes());
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        assertEquals(10000, targetJdbc.queryForObject("SELECT COUNT(*) FROM items", Integer.class));
+        assertEquals("Item 42", targetJdbc.queryForObject("SELECT name FROM items WHERE id = 42", String.class));
+    }
+
+    @Test
+    void testRestoreWithoutSnapshot() {
+        // Arrange
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setPath(directory.resolve("missing.sql.gz"));
+
+        // Act
+        boolean restored = new DatabaseSnapshotter(newDatabase(), properties).restore();
+
+        // Assert
+        assertFalse(restored);
+    }
+
+    // Kept open until the JVM exits so each test database survives between connections
+    private static JdbcDataSource newDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
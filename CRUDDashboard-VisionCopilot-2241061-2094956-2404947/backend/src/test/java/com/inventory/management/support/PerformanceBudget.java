@@ -0,0 +1,110 @@
+package com.inventory.management.support;
+
+import org.hibernate.stat.Statistics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the SQL statements, entity loads, wall time, and CPU time and bytes allocated by the calling thread for
+ * an action and asserts them against a budget, e.g.
+ * {@code PerformanceBudget.measure(counter, stats, () -> listItems()).assertQueriesAtMost(2)}.
+ */
+public final class PerformanceBudget {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final List<String> statements;
+    private final long entityLoads;
+    private final Duration wallTime;
+    private final Duration cpuTime;
+    private final long allocatedBytes;
+
+    private PerformanceBudget(List<String> statements, long entityLoads, Duration wallTime, Duration cpuTime,
+                              long allocatedBytes) {
+        this.statements = statements;
+        this.entityLoads = entityLoads;
+        this.wallTime = wallTime;
+        this.cpuTime = cpuTime;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public static PerformanceBudget measure(QueryCounter queryCounter, Statistics statistics, Action action)
+            throws Exception {
+        queryCounter.reset();
+        long loadsBefore = statistics.getEntityLoadCount();
+        long allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        long cpuBefore = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        action.run();
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+        Duration cpuTime = Duration.ofNanos(THREAD_MX_BEAN.getCurrentThreadCpuTime() - cpuBefore);
+        long allocatedBytes = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new PerformanceBudget(queryCounter.getStatements(),
+                statistics.getEntityLoadCount() - loadsBefore, wallTime, cpuTime, allocatedBytes);
+    }
+
+    /**
+     * The same measurement without the sequence calls that reserve blocks of ids. Each call covers
+     * the next 50 inserts, so whether an action makes one depends on what ran before it.
+     */
+    public PerformanceBudget excludingIdBlockFetches() {
+        List<String> perAction = statements.stream()
+                .filter(statement -> !statement.toLowerCase().startsWith("select next value for"))
+                .toList();
+        return new PerformanceBudget(perAction, entityLoads, wallTime, cpuTime, allocatedBytes);
+    }
+
+    public PerformanceBudget assertQueriesAtMost(int maxQueries) {
+        assertTrue(statements.size() <= maxQueries, () -> "Expected at most " + maxQueries
+                + " SQL statements but " + statements.size() + " were executed:\n" + String.join("\n", statements));
+        return this;
+    }
+
+    public PerformanceBudget assertEntityLoadsAtMost(long maxLoads) {
+        assertTrue(entityLoads <= maxLoads,
+                () -> "Expected at most " + maxLoads + " entity loads but there were " + entityLoads);
+        return this;
+    }
+
+    public PerformanceBudget assertWallTimeAtMost(Duration maxWallTime) {
+        assertTrue(wallTime.compareTo(maxWallTime) <= 0,
+                () -> "Expected to finish within " + maxWallTime.toMillis() + " ms but took " + wallTime.toMillis() + " ms");
+        return this;
+    }
+
+    public PerformanceBudget assertAllocatedBytesAtMost(long maxBytes) {
+        assertTrue(allocatedBytes <= maxBytes,
+                () -> "Expected to allocate at most " + maxBytes + " bytes but allocated " + allocatedBytes);
+        return this;
+    }
+
+    public int getQueryCount() {
+        return statements.size();
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    public Duration getWallTime() {
+        return wallTime;
+    }
+
+    public Duration getCpuTime() {
+        return cpuTime;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
@@ -0,0 +1,44 @@
+package com.inventory.management.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts JDBC statement executions. A batch counts as a single execution since it is one round trip.
+ * Only statements issued by the thread that last called {@link #reset()} are counted, so background
+ * work such as slow-query EXPLAIN capture does not leak into a measurement.
+ * Registered on the application DataSource by {@link QueryCountingConfig}.
+ */
+public class QueryCounter implements QueryExecutionListener {
+
+    private final List<String> statements = new ArrayList<>();
+    private Thread measuringThread;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (Thread.currentThread() == measuringThread) {
+            statements.add(queryInfoList.get(0).getQuery());
+        }
+    }
+
+    public synchronized void reset() {
+        statements.clear();
+        measuringThread = Thread.currentThread();
+    }
+
+    public synchronized int getCount() {
+        return statements.size();
+    }
+
+    public synchronized List<String> getStatements() {
+        return new ArrayList<>(statements);
+    }
+}
@@ -0,0 +1,83 @@
+package com.inventory.management.tenant;
+
+import com.inventory.management.exception.ManagerNotFoundException;
+import com.inventory.management.model.StoreManager;
+import com.inventory.management.repository.StoreManagerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ManagerDirectoryTest {
+
+    @Mock
+    private StoreManagerRepository storeManagerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ManagerDirectory managerDirectory;
+    private StoreManager testManager;
+
+    @BeforeEach
+    void setUp() {
+        managerDirectory = new ManagerDirectory(storeManagerRepository, transactionManager);
+        testManager = new StoreManager();
+        testManager.setId(1L);
+        testManager.setName("Test Manager");
+        testManager.setEmail("test@example.com");
+        testManager.setPasswordHash("password123");
+    }
+
+    @Test
+    void testGetDefaultManager_Existing() {
+        // Arrange
+        when(storeManagerRepository.findById(1L)).thenReturn(Optional.of(testManager));
+
+        // Act
+        Long first = managerDirectory.resolve(1L);
+        Long second = managerDirectory.resolve(1L);
+
+        // Assert
+        assertEquals(1L, first);
+        assertEquals(1L, second);
+        verify(storeManagerRepository, times(1)).findById(1L);
+        verify(storeManagerRepository, never()).save(any(StoreManager.class));
+    }
+
+    @Test
+    void testGetDefaultManager_NotFound() {
+        // Arrange
+        when(storeManagerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(storeManagerRepository.save(any(StoreManager.class))).thenReturn(testManager);
+
+        // Act
+        Long managerId = managerDirectory.resolve(1L);
+
+        // Assert
+        assertEquals(1L, managerId);
+        verify(storeManagerRepository).findById(1L);
+        verify(storeManagerRepository).save(any(StoreManager.class));
+    }
+
+    @Test
+    void testUnknownManagerIsNotCreatedOrRemembered() {
+        // Arrange
+        when(storeManagerRepository.findById(42L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ManagerNotFoundException.class, () -> managerDirectory.resolve(42L));
+        assertThrows(ManagerNotFoundException.class, () -> managerDirectory.resolve(42L));
+        verify(storeManagerRepository, times(2)).findById(42L);
+        verify(storeManagerRepository, never()).save(any(StoreManager.class));
+    }
+}
@@ -0,0 +1,207 @@
+package com.inventory.management.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class TenantRegistryTest {
+
+    private TenantRegistry<AtomicInteger> registry;
+    private AtomicInteger rows;
+    private AtomicInteger builds;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TenantRegistry<>(mock(PlatformTransactionManager.class), 1000);
+        rows = new AtomicInteger();
+        builds = new AtomicInteger();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // The structure counts the manager's rows, like a sketch that cannot tell whether it has seen an item
+    private AtomicInteger build(Long managerId) {
+        builds.incrementAndGet();
+        return new AtomicInteger(rows.get());
+    }
+
+    private void insertRow() {
+        rows.incrementAndGet();
+        registry.update(1L, AtomicInteger::incrementAndGet);
+    }
+
+    @Test
+    void testWritesAreAppliedWhenTheyCommit() {
+        // Arrange
+        rows.set(2);
+        AtomicInteger structure = registry.get(1L, this::build);
+
+        // Act
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            insertRow();
+            assertEquals(2, structure.get(), "Uncommitted writes should not be applied");
+        });
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, this::insertRow);
+        insertRow();
+
+        // Assert
+        assertEquals(4, structure.get(), "Committed and non-transactional writes should be applied once");
+        assertSame(structure, registry.get(1L, this::build));
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void testBuildThatOverlapsAWriteIsRetried() {
+        // Arrange
+        AtomicInteger overlapping = new AtomicInteger(1);
+
+        // Act - a write commits after the first build read the rows but before it is published
+        AtomicInteger structure = registry.get(1L, managerId -> {
+            AtomicInteger built = build(managerId);
+            if (overlapping.getAndDecrement() > 0) {
+                insertRow();
+            }
+            return built;
+        });
+
+        // Assert
+        assertEquals(2, builds.get());
+        assertEquals(1, structure.get(), "The write should be counted once");
+    }
+
+    @Test
+    void testBuildWaitsOutOtherTransactionsWrites() throws Exception {
+        // Arrange - another transaction wrote its row but has not completed yet
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch complete = new CountDownLatch(1);
+        Future<?> writer = executor.submit(() -> inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            insertRow();
+            written.countDown();
+            await(complete);
+        }));
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+
+        // Act - its commit may or may not be visible to the first build, so that build is discarded
+        AtomicInteger structure = registry.get(1L, managerId -> {
+            AtomicInteger built = build(managerId);
+            if (builds.get() == 1) {
+                complete.countDown();
+                assertDoesNotThrow(() -> writer.get(5, TimeUnit.SECONDS));
+            }
+            return built;
+        });
+
+        // Assert
+        assertEquals(2, builds.get());
+        assertEquals(1, structure.get());
+    }
+
+    @Test
+    void testOwnWritesDoNotHoldUpTheBuild() {
+        // Act
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            rows.set(3);
+            registry.update(1L, AtomicInteger::incrementAndGet);
+            // The build reads without the transaction's own uncommitted row
+            registry.get(1L, managerId -> {
+                builds.incrementAndGet();
+                return new AtomicInteger(2);
+            });
+        });
+
+        // Assert
+        assertEquals(1, builds.get());
+        assertEquals(3, registry.get(1L, this::build).get());
+    }
+
+    @Test
+    void testEvictAndRebuild() {
+        // Arrange
+        rows.set(1);
+        AtomicInteger first = registry.get(1L, this::build);
+        rows.set(5);
+
+        // Act
+        AtomicInteger rebuilt = registry.rebuild(1L, first, this::build);
+        AtomicInteger again = registry.rebuild(1L, first, this::build);
+        registry.evict(List.of(1L, 2L));
+        AtomicInteger reloaded = registry.get(1L, this::build);
+
+        // Assert
+        assertEquals(5, rebuilt.get());
+        assertSame(rebuilt, again, "A structure that was already replaced should not be rebuilt again");
+        assertNotSame(rebuilt, reloaded);
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void testLeastRecentlyUsedManagersAreDropped() {
+        // Arrange
+        TenantRegistry<AtomicInteger> bounded = new TenantRegistry<>(mock(PlatformTransactionManager.class), 2);
+        bounded.get(1L, this::build);
+        bounded.get(2L, this::build);
+        bounded.get(1L, this::build);
+
+        // Act
+        bounded.get(3L, this::build);
+
+        // Assert
+        assertTrue(bounded.isLoaded(1L));
+        assertFalse(bounded.isLoaded(2L), "The manager used longest ago should be dropped");
+        assertTrue(bounded.isLoaded(3L));
+    }
+
+    @Test
+    void testRegistryWithoutEvictionKeepsEveryManager() {
+        // Arrange
+        TenantRegistry<AtomicInteger> unbounded = new TenantRegistry<AtomicInteger>(
+                mock(PlatformTransactionManager.class), 2).withoutEviction();
+
+        // Act
+        for (long managerId = 1; managerId <= 3; managerId++) {
+            unbounded.get(managerId, this::build);
+        }
+
+        // Assert
+        assertTrue(unbounded.isLoaded(1L) && unbounded.isLoaded(2L) && unbounded.isLoaded(3L));
+    }
+
+    private static void inTransaction(int status, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            work.run();
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), status);
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -17,6 +17,8 @@ CREATE TABLE inventory_items (
     price REAL NOT NULL CHECK (price >= 0),
     quantity INTEGER NOT NULL CHECK (quantity >= 0),
     image_url TEXT,
+    reorder_point INTEGER CHECK (reorder_point >= 0),
+    version INTEGER NOT NULL DEFAULT 0,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (manager_id) REFERENCES store_managers(id) ON DELETE CASCADE
@@ -33,3 +35,20 @@ CREATE TABLE activity_log (
     FOREIGN KEY (manager_id) REFERENCES store_managers(id) ON DELETE CASCADE,
     FOREIGN KEY (item_id) REFERENCES inventory_items(id) ON DELETE SET NULL
 );
+
+-- Indexes (the backend applies the same schema through Flyway, see backend/src/main/resources/db/migration)
+CREATE INDEX idx_inventory_items_manager_id ON inventory_items (manager_id);
+CREATE INDEX idx_inventory_items_manager_quantity ON inventory_items (manager_id, quantity);
+CREATE INDEX idx_inventory_items_manager_category ON inventory_items (manager_id, category, quantity, price);
+CREATE UNIQUE INDEX uk_inventory_items_manager_sku ON inventory_items (manager_id, sku);
+CREATE INDEX idx_activity_log_manager_id ON activity_log (manager_id);
+CREATE INDEX idx_activity_log_manager_timestamp ON activity_log (manager_id, timestamp, action, item_id, item_name);
+
+-- Table: cache_invalidations (item writes logged for the caches of other backend nodes)
+CREATE TABLE cache_invalidations (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    node_id TEXT NOT NULL,
+    manager_id INTEGER NOT NULL,
+    created_at DATETIME NOT NULL
+);
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at);
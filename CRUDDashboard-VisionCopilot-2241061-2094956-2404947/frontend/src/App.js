@@ -18,6 +18,7 @@ function App() {
   const [items, setItems] = useState([]);
   const [filteredItems, setFilteredItems] = useState([]);
   const [recentActivities, setRecentActivities] = useState([]);
+  const [categoryStats, setCategoryStats] = useState(null);
   const [openDialog, setOpenDialog] = useState(false);
   const [currentItem, setCurrentItem] = useState(null);
   const [searchQuery, setSearchQuery] = useState('');
@@ -40,6 +41,13 @@ function App() {
     } finally {
       setLoading(false);
     }
+    
+    // Category totals are aggregated server-side; the chart falls back to counting items
+    try {
+      setCategoryStats(await inventoryService.getCategoryAnalytics() || null);
+    } catch (error) {
+      setCategoryStats(null);
+    }
   };
   
   useEffect(() => {
@@ -171,7 +179,7 @@ function App() {
             <Typography variant="h6" gutterBottom>
               Items by Category
             </Typography>
-            <CategoryDistributionChart items={items} />
+            <CategoryDistributionChart items={items} categories={categoryStats} />
           </Paper>
         </Grid>
       </Grid>
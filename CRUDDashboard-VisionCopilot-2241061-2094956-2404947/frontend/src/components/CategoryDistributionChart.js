@@ -6,10 +6,11 @@ import { Chart as ChartJS, ArcElement, Tooltip, Legend } from 'chart.js';
 // Register the components
 ChartJS.register(ArcElement, Tooltip, Legend);
 
-const CategoryDistributionChart = ({ items }) => {
+const CategoryDistributionChart = ({ items, categories }) => {
   // Process data for the chart
   const processDataForChart = () => {
-    if (!items || items.length === 0) {
+    const hasCategories = categories && categories.length > 0;
+    if (!hasCategories && (!items || items.length === 0)) {
       return {
         labels: ['No Data'],
         datasets: [{
@@ -19,11 +20,16 @@ const CategoryDistributionChart = ({ items }) => {
       };
     }
 
-    // Group items by category and count them
-    const categoryMap = items.reduce((acc, item) => {
-      acc[item.category] = (acc[item.category] || 0) + 1;
-      return acc;
-    }, {});
+    // Use the server-side aggregation when available, otherwise group items by category and count them
+    const categoryMap = hasCategories
+      ? categories.reduce((acc, stat) => {
+          acc[stat.category] = stat.itemCount;
+          return acc;
+        }, {})
+      : items.reduce((acc, item) => {
+          acc[item.category] = (acc[item.category] || 0) + 1;
+          return acc;
+        }, {});
     
     // Extract labels and data from the map
     const labels = Object.keys(categoryMap);
@@ -60,6 +60,18 @@ describe('CategoryDistributionChart Component', () => {
     expect(data).toEqual([2, 2, 2]);
   });
 
+  test('prefers server-side category stats over counting items', () => {
+    const mockCategories = [
+      { category: 'Clothing', itemCount: 12, totalUnits: 45, stockValue: 900 },
+      { category: 'Electronics', itemCount: 30, totalUnits: 25, stockValue: 12000 }
+    ];
+    const data = CategoryDistributionChart({ items: mockItems, categories: mockCategories })
+      .props.children.props.data;
+
+    expect(data.labels).toEqual(['Clothing', 'Electronics']);
+    expect(data.datasets[0].data).toEqual([12, 30]);
+  });
+
   test('handles empty items array', () => {
     // Create a modified component that exposes the processed data
     const TestComponent = () => {
@@ -51,6 +51,16 @@ describe('Inventory Service', () => {
     expect(result).toEqual(mockItem);
   });
 
+  test('getItemsByIds fetches items in one request', async () => {
+    const batch = [mockItems[1], { id: 99, notFound: true }, mockItems[0]];
+    axios.post.mockResolvedValueOnce({ data: batch });
+    
+    const result = await inventoryService.getItemsByIds([2, 99, 1]);
+    
+    expect(axios.post).toHaveBeenCalledWith('http://localhost:8080/api/inventory/batch-get', [2, 99, 1]);
+    expect(result).toEqual(batch);
+  });
+
   test('searchItems fetches filtered items correctly', async () => {
     const filteredItems = [mockItems[0]];
     axios.get.mockResolvedValueOnce({ data: filteredItems });
@@ -84,6 +94,18 @@ describe('Inventory Service', () => {
     expect(result).toEqual(updatedItem);
   });
 
+  test('patchItem sends only the changed fields as a merge patch', async () => {
+    const patchedItem = { id: 1, name: 'Laptop', sku: 'LAP-001', category: 'Electronics', price: 999.99, quantity: 5 };
+    
+    axios.patch.mockResolvedValueOnce({ data: patchedItem });
+    
+    const result = await inventoryService.patchItem(1, { quantity: 5 });
+    
+    expect(axios.patch).toHaveBeenCalledWith('http://localhost:8080/api/inventory/1', { quantity: 5 },
+      { headers: { 'Content-Type': 'application/merge-patch+json' } });
+    expect(result).toEqual(patchedItem);
+  });
+
   test('deleteItem deletes an item correctly', async () => {
     axios.delete.mockResolvedValueOnce({});
     
@@ -13,6 +13,16 @@ export const inventoryService = {
         }
     },
     
+    getCategoryAnalytics: async () => {
+        try {
+            const response = await axios.get(`${API_URL}/inventory/analytics/categories`);
+            return response.data;
+        } catch (error) {
+            console.error('Error fetching category analytics:', error);
+            throw error;
+        }
+    },
+    
     getAllItems: async () => {
         try {
             const response = await axios.get(`${API_URL}/inventory`);
@@ -33,6 +43,17 @@ export const inventoryService = {
         }
     },
     
+    // Items in the order of ids; ids without an item come back as { id, notFound: true }
+    getItemsByIds: async (ids) => {
+        try {
+            const response = await axios.post(`${API_URL}/inventory/batch-get`, ids);
+            return response.data;
+        } catch (error) {
+            console.error('Error fetching inventory items by id:', error);
+            throw error;
+        }
+    },
+    
     searchItems: async (query) => {
         try {
             const response = await axios.get(`${API_URL}/inventory/search?query=${query}`);
@@ -63,6 +84,19 @@ export const inventoryService = {
         }
     },
     
+    // Sends only the changed fields; null clears an optional field such as imageUrl
+    patchItem: async (id, changes) => {
+        try {
+            const response = await axios.patch(`${API_URL}/inventory/${id}`, changes, {
+                headers: { 'Content-Type': 'application/merge-patch+json' }
+            });
+            return response.data;
+        } catch (error) {
+            console.error(`Error patching item with id ${id}:`, error);
+            throw error;
+        }
+    },
+    
     deleteItem: async (id) => {
         try {
             await axios.delete(`${API_URL}/inventory/${id}`);